@@ -2,15 +2,21 @@ package study.datajpa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import study.datajpa.support.TransactionClock;
 
 import java.util.Optional;
 import java.util.UUID;
 
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class DataJpaApplication {
 
 	public static void main(String[] args) {
@@ -23,4 +29,10 @@ public class DataJpaApplication {
 		return () -> Optional.of(UUID.randomUUID().toString());
 	}
 
+	@Bean
+	public DateTimeProvider auditingDateTimeProvider() {
+		// 트랜잭션당 한 번만 시각을 읽음
+		return () -> Optional.of(TransactionClock.now());
+	}
+
 }
@@ -1,25 +1,47 @@
 package study.datajpa.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberStatsDto;
+import study.datajpa.dto.TeamSummaryDto;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberStreamRepository;
 import study.datajpa.repository.TeamRepository;
+import study.datajpa.repository.UnsupportedSortException;
+import study.datajpa.service.MemberStatsService;
+import study.datajpa.service.UsernameAutocompleteService;
+import study.datajpa.support.PageBudget;
+
+import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
     private final MemberRepository memberRepository;
     private final TeamRepository teamRepository;
+    private final MemberStreamRepository memberStreamRepository;
+    private final MemberStatsService memberStatsService;
+    private final UsernameAutocompleteService usernameAutocompleteService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
@@ -34,20 +56,66 @@ public class MemberController {
     }
 
     @GetMapping("/members")
+    // 팀 이름까지 내보내는 목록이라 다른 목록보다 예산을 짧게
+    @PageBudget(millis = 200)
     // http://localhost:8080/members?page=0&size=3&sort=username,desc 요청 파라미터 예시
     // page와 size 기본값 변경 가능 -> 글로벌 설정: application.yml
     // 글로벌 설정보단 @PageableDefault 어노테이션 사용 (이 설정이 우선권을 가짐)
-    public Page<Member> list(@PageableDefault(size = 5, sort = "username") Pageable pageable) {
-        return memberRepository.findAll(pageable);
+    // 엔티티 대신 DTO, team 은 조회 시점에 함께 가져옴 (OSIV 꺼져도 지연 로딩 없음)
+    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username") Pageable pageable) {
+        return memberRepository.findAllWithTeam(pageable)
+                .map(MemberDto::new);
     }
 
     @GetMapping("/members/dto")
     // api는 무조건 dto로 변환해서 반환해야 함
     public Page<MemberDto> lists(@PageableDefault(size = 5, sort = "username") Pageable pageable) {
-        return memberRepository.findAll(pageable)
+        return memberRepository.findAllWithTeam(pageable)
                 .map(MemberDto::new);
     }
 
+    @GetMapping(value = "/members/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    // /members/dto 와 같은 응답을 Page, 엔티티, DTO 없이 조회 결과에서 바로 씀 (큰 페이지용)
+    public void stream(@PageableDefault(size = 5, sort = "username") Pageable pageable,
+                       HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        memberStreamRepository.writePage(pageable, objectMapper.getFactory(), response.getOutputStream());
+    }
+
+    @GetMapping(value = {"/members", "/members/dto"}, produces = MediaType.APPLICATION_CBOR_VALUE)
+    // Accept: application/cbor 일 때만 선택됨 (그 외에는 위의 JSON 매핑)
+    // /members/dto 와 같은 페이지 모양을 CBOR 로, DTO 없이 조회 결과에서 바로 씀 (서비스 간 대량 조회용)
+    public void streamCbor(@PageableDefault(size = 5, sort = "username") Pageable pageable,
+                           HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_CBOR_VALUE);
+        memberStreamRepository.writePage(pageable, CBOR_FACTORY, response.getOutputStream());
+    }
+
+    @GetMapping("/members/stats")
+    public MemberStatsDto stats() {
+        return memberStatsService.getStats();
+    }
+
+    @GetMapping("/members/autocomplete")
+    public List<String> autocomplete(@RequestParam("prefix") String prefix,
+                                     @RequestParam(value = "size", defaultValue = "10") int size) {
+        return usernameAutocompleteService.suggest(prefix, size);
+    }
+
+    @GetMapping("/teams/{id}/summary")
+    // 미리 계산된 요약을 PK 로 조회 (회원 수에 관계없이 한 행)
+    public TeamSummaryDto teamSummary(@PathVariable("id") Long id) {
+        return teamRepository.findSummary(id)
+                .map(TeamSummaryDto::new)
+                .orElseThrow(() -> new IllegalArgumentException("팀이 존재하지 않습니다"));
+    }
+
+    // 스트림 응답은 정렬을 먼저 검증하므로 아직 커밋 전 -> 400 으로 응답
+    @ExceptionHandler(UnsupportedSortException.class)
+    public void unsupportedSort(UnsupportedSortException e, HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+    }
+
 //    @PostConstruct
     public void init() {
         Team team = Team.builder().name("team").build();
@@ -0,0 +1,25 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+public class MemberStatsDto {
+
+    private final long total;
+    private final Map<Long, Long> teamCounts;     // teamId -> 회원 수 (팀 없는 회원 제외)
+    private final Map<Integer, Long> ageCounts;   // 나이 -> 회원 수
+    private final Map<Integer, Long> ageHistogram; // 구간 시작 나이(10 단위) -> 회원 수
+    private final LocalDateTime computedAt;
+
+    public MemberStatsDto(long total, Map<Long, Long> teamCounts, Map<Integer, Long> ageCounts,
+                          Map<Integer, Long> ageHistogram, LocalDateTime computedAt) {
+        this.total = total;
+        this.teamCounts = teamCounts;
+        this.ageCounts = ageCounts;
+        this.ageHistogram = ageHistogram;
+        this.computedAt = computedAt;
+    }
+}
@@ -0,0 +1,29 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+import study.datajpa.entity.TeamSummary;
+
+import java.time.LocalDateTime;
+
+// 팀 요약 응답. 엔티티(테넌트, 내부 집계값)를 그대로 내보내지 않음
+@Data
+public class TeamSummaryDto {
+
+    private Long teamId;
+    private String teamName;
+    private long memberCount;
+    private double averageAge;
+    private Long newestMemberId;
+    private String newestMemberUsername;
+    private LocalDateTime newestMemberCreatedDate;
+
+    public TeamSummaryDto(TeamSummary summary) {
+        this.teamId = summary.getTeamId();
+        this.teamName = summary.getTeamName();
+        this.memberCount = summary.getMemberCount();
+        this.averageAge = summary.getAverageAge();
+        this.newestMemberId = summary.getNewestMemberId();
+        this.newestMemberUsername = summary.getNewestMemberUsername();
+        this.newestMemberCreatedDate = summary.getNewestMemberCreatedDate();
+    }
+}
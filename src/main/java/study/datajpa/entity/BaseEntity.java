@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
+import org.hibernate.annotations.TenantId;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -17,6 +18,11 @@ import java.time.LocalDateTime;
 @MappedSuperclass
 public class BaseEntity extends BaseTimeEntity {
 
+    // 저장 시 세션의 테넌트(TenantIdentifierResolver)로 채워지고, 모든 조회에 tenant_id = ? 조건이 붙는다
+    @TenantId
+    @Column(name = "tenant_id", length = 64, nullable = false, updatable = false)
+    private String tenantId;
+
     @CreatedBy
     @Column(updatable = false)
     private String createdBy;
@@ -0,0 +1,44 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파티션 작업 진행 상황. 파티션 처리와 같은 트랜잭션에서 completed 로 바뀌므로 재시작 시 끝난 파티션은 건너뛴다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_job_checkpoint_range", columnNames = {"job_name", "range_start"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class JobCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_checkpoint_id")
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String jobName;
+
+    private long rangeStart;
+
+    private long rangeEnd;
+
+    private boolean completed;
+
+    private long rowsProcessed;
+
+    private LocalDateTime completedDate;
+
+    public JobCheckpoint(String jobName, long rangeStart, long rangeEnd) {
+        this.jobName = jobName;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import lombok.Getter;
+import study.datajpa.support.TransactionClock;
 
 import java.time.LocalDateTime;
 
@@ -18,13 +19,13 @@ public class JpaBaseEntity {
 
     @PrePersist
     public void prePersist() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = TransactionClock.now();
         createdDate = now;
         updatedDate = now;
     }
 
     @PreUpdate
     public void preUpdate() {
-        updatedDate = LocalDateTime.now();
+        updatedDate = TransactionClock.now();
     }
 }
@@ -2,8 +2,31 @@ package study.datajpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate // 변경된 컬럼만 UPDATE
+// 삭제(remove)는 deleted = true, deleted_at = 삭제 시각으로 UPDATE, 모든 조회에 deleted = false 조건이 붙는다
+// 벌크 삭제는 MemberRepositoryImpl.bulkDelete 가 같은 UPDATE 를 한다. 물리 삭제는 보존 기간이 지난 뒤 MemberTombstonePurger
+@SQLDelete(sql = "update member set deleted = true, deleted_at = current_timestamp where member_id = ?")
+@SQLRestriction("deleted = false")
+@Table(indexes = {
+        // 모든 조회에 tenant_id = ? 가 붙으므로 tenant_id 를 맨 앞에 둔다 (다른 테넌트의 행은 인덱스 범위 밖)
+        // username 조회 + (id, username, team) 프로젝션을 인덱스만으로 처리 (H2 보조 인덱스는 PK를 함께 저장)
+        // H2 는 부분 인덱스가 없어서 deleted 를 키에 넣어 삭제된 행을 인덱스 안에서 걸러낸다
+        @Index(name = "idx_member_username_team", columnList = "tenant_id, username, deleted, team_id"),
+        // age 조건 + username 정렬 페이징 (tenant_id, age, deleted 가 모두 등호라 username 순서가 유지됨)
+        @Index(name = "idx_member_age_username", columnList = "tenant_id, age, deleted, username"),
+        @Index(name = "idx_member_team_id", columnList = "team_id"),
+        // 테넌트별 변경 피드 키셋 (MemberRepository.findChangedSince)
+        @Index(name = "idx_member_modified", columnList = "tenant_id, last_modified_date, member_id"),
+        // 보존 기간이 지난 삭제 행 찾기 (MemberTombstonePurger, 테넌트 구분 없음)
+        @Index(name = "idx_member_deleted", columnList = "deleted, deleted_at")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
@@ -22,6 +45,11 @@ public class Member extends BaseEntity {
     @JoinColumn(name = "team_id")
     private Team team;
 
+    // @SQLDelete / 벌크 삭제로만 바뀐다 (엔티티에서 직접 바꾸지 않음)
+    private boolean deleted;
+
+    private LocalDateTime deletedAt;
+
     @Builder
     public Member(String username, int age, Team team) {
         this.username = username;
@@ -32,11 +60,25 @@ public class Member extends BaseEntity {
     }
 
     public void changeTeam(Team team) {
+        if (this.team != null) {
+            this.team.removeMember(this);
+        }
         this.team = team;
-        team.getMembers().add(this);
+        team.addMember(this);
+    }
+
+    @PreRemove
+    public void preRemove() {
+        if (team != null) {
+            team.removeMember(this);
+        }
     }
 
     public void changeName(String username) {
         this.username = username;
     }
+
+    public void changeAge(int age) {
+        this.age = age;
+    }
 }
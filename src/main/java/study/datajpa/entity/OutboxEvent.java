@@ -0,0 +1,47 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Member / Team 변경 이벤트 (트랜잭셔널 아웃박스).
+ * 변경과 같은 트랜잭션에서 OutboxEventListener 가 JDBC 로 쓰고, OutboxDispatcher 가 전송 후 삭제한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_event_id")
+    private Long id;
+
+    // 테넌트 구분 없이 디스패치하고, 받는 쪽이 테넌트를 알 수 있도록 함께 보낸다
+    @Column(length = 64, nullable = false)
+    private String tenantId;
+
+    @Column(length = 20, nullable = false)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(length = 10, nullable = false)
+    private String eventType;
+
+    @Column(length = 1000)
+    private String payload;
+
+    private LocalDateTime createdDate;
+}
@@ -2,11 +2,18 @@ package study.datajpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Formula;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@DynamicUpdate // 변경된 컬럼만 UPDATE
+// 테넌트별 변경 피드 키셋 (TeamRepository.findChangedSince)
+@Table(indexes = @Index(name = "idx_team_modified", columnList = "tenant_id, last_modified_date, team_id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
@@ -19,6 +26,14 @@ public class Team extends BaseEntity {
 
     private String name;
 
+    // 팀 목록 조회 시 member 집계 없이 읽는 회원 수. 회원 수는 team_summary 한 곳에만 두고 (TeamSummaryEventListener 가 증감)
+    // 팀을 읽을 때 PK 로 가져온다. 읽기 전용이라 최신 값은 refresh 또는 다시 조회해서 읽는다
+    // 래퍼 타입이라 Query By Example 프로브에서 null 이면 조건에서 빠진다
+    @Formula("(select s.member_count from team_summary s where s.team_id = team_id)")
+    private Long memberCount;
+
+    // 크기는 memberCount, 포함 여부는 hasMember() 로 확인 (컬렉션 초기화 없이)
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
@@ -26,4 +41,31 @@ public class Team extends BaseEntity {
     public Team(String name) {
         this.name = name;
     }
+
+    public void changeName(String name) {
+        this.name = name;
+    }
+
+    // 연관관계 편의 메서드: members 가 이미 로딩된 경우에만 컬렉션을 맞춰줌
+    // -> 회원이 많은 팀으로 옮겨도 members 전체를 초기화하지 않음
+    public void addMember(Member member) {
+        if (Hibernate.isInitialized(members)) {
+            members.add(member);
+        }
+    }
+
+    public void removeMember(Member member) {
+        if (Hibernate.isInitialized(members)) {
+            members.remove(member);
+        }
+    }
+
+    // members.contains() 대신 사용. 컬렉션이 로딩되지 않았으면 회원 쪽 FK로 판단
+    public boolean hasMember(Member member) {
+        if (Hibernate.isInitialized(members)) {
+            return members.contains(member);
+        }
+        Team memberTeam = member.getTeam();
+        return memberTeam != null && id != null && id.equals(memberTeam.getId());
+    }
 }
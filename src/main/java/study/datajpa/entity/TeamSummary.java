@@ -0,0 +1,48 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+
+/**
+ * 팀 요약 읽기 모델 (팀 이름, 회원 수, 평균 나이, 최신 회원).
+ * Member / Team 변경 시 TeamSummaryEventListener 가 같은 트랜잭션에서 갱신한다. 애플리케이션에서 직접 수정하지 않음.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"teamId", "teamName", "memberCount", "ageSum"})
+public class TeamSummary {
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+
+    // 팀의 테넌트. 다른 테넌트의 팀 id 로 조회해도 보이지 않음
+    @TenantId
+    @Column(name = "tenant_id", length = 64, nullable = false, updatable = false)
+    private String tenantId;
+
+    private String teamName;
+
+    private long memberCount;
+
+    private long ageSum;
+
+    private Long newestMemberId;
+
+    private String newestMemberUsername;
+
+    private LocalDateTime newestMemberCreatedDate;
+
+    public double getAverageAge() {
+        return memberCount == 0 ? 0 : (double) ageSum / memberCount;
+    }
+}
@@ -0,0 +1,28 @@
+package study.datajpa.job;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class JobReport {
+
+    private final String jobName;
+    private final int partitions;
+    // 이전 실행에서 이미 끝나서 건너뛴 파티션 수
+    private final int skippedPartitions;
+    private final long rows;
+    private final long elapsedMillis;
+
+    public JobReport(String jobName, int partitions, int skippedPartitions, long rows, long elapsedMillis) {
+        this.jobName = jobName;
+        this.partitions = partitions;
+        this.skippedPartitions = skippedPartitions;
+        this.rows = rows;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rows : rows * 1000.0 / elapsedMillis;
+    }
+}
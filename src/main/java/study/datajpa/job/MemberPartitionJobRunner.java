@@ -0,0 +1,121 @@
+package study.datajpa.job;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.JobCheckpoint;
+import study.datajpa.repository.JobCheckpointRepository;
+import study.datajpa.service.IdRange;
+import study.datajpa.support.TenantContext;
+import study.datajpa.support.TransactionClock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * member 를 id 범위로 나눠 고정 크기 워커 풀에서 처리한다.
+ * 파티션마다 트랜잭션(= EntityManager) 하나, 체크포인트도 같은 트랜잭션에서 완료 처리.
+ * 실패한 파티션이 있으면 체크포인트를 남겨두고 예외를 던진다 -> 같은 jobName 으로 다시 실행하면 남은 파티션만 처리.
+ * 모두 끝나면 체크포인트를 지워서 다음 실행은 처음부터.
+ * 호출한 스레드의 테넌트 회원만 처리하고 (워커 스레드에 테넌트를 넘김), 체크포인트도 테넌트별로 따로 둔다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberPartitionJobRunner {
+
+    // 파티션 크기 편차(팀/나이 쏠림 등)를 워커끼리 나눠 가지도록 워커보다 잘게 나눔
+    private static final int PARTITIONS_PER_WORKER = 4;
+
+    private final EntityManager em;
+    private final JobCheckpointRepository checkpointRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    public JobReport run(String jobName, int workers, PartitionTask task) {
+        return run(jobName, workers, workers * PARTITIONS_PER_WORKER, task);
+    }
+
+    public JobReport run(String jobName, int workers, int partitions, PartitionTask task) {
+        long start = System.nanoTime();
+        String tenantId = TenantContext.getTenantId();
+        String checkpointName = checkpointName(jobName);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<JobCheckpoint> checkpoints = transactionTemplate.execute(status -> checkpoints(checkpointName, partitions));
+
+        List<JobCheckpoint> pending = new ArrayList<>();
+        for (JobCheckpoint checkpoint : checkpoints) {
+            if (!checkpoint.isCompleted()) {
+                pending.add(checkpoint);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(workers, pending.size())));
+        long rows = 0;
+        RuntimeException failure = null;
+        try {
+            List<Future<Long>> futures = new ArrayList<>(pending.size());
+            for (JobCheckpoint checkpoint : pending) {
+                futures.add(executor.submit(() -> TenantContext.callAs(tenantId, () -> transactionTemplate.execute(status -> {
+                    long processed = task.process(em, new IdRange(checkpoint.getRangeStart(), checkpoint.getRangeEnd()));
+                    checkpointRepository.complete(checkpoint.getId(), processed, TransactionClock.now());
+                    return processed;
+                }))));
+            }
+            for (Future<Long> future : futures) {
+                try {
+                    rows += future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = new IllegalStateException("파티션 작업 실패: " + jobName, e.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("파티션 작업 중단: " + jobName, e);
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.deleteByJobName(checkpointName));
+        JobReport report = new JobReport(jobName, checkpoints.size(), checkpoints.size() - pending.size(), rows,
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("partition job finished. job={}, partitions={}, skipped={}, rows={}, elapsed={}ms, rows/s={}",
+                jobName, report.getPartitions(), report.getSkippedPartitions(), rows, report.getElapsedMillis(),
+                Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    // 같은 jobName 이라도 테넌트마다 파티션 구성이 다르므로 체크포인트 이름에 테넌트를 붙인다
+    static String checkpointName(String jobName) {
+        return TenantContext.getTenantId() + ":" + jobName;
+    }
+
+    // 이전 실행의 체크포인트가 있으면 그 파티션 구성을 그대로 사용 (그 사이 추가된 회원은 다음 실행에서)
+    private List<JobCheckpoint> checkpoints(String jobName, int partitions) {
+        List<JobCheckpoint> checkpoints = checkpointRepository.findByJobNameOrderByRangeStart(jobName);
+        if (!checkpoints.isEmpty()) {
+            return checkpoints;
+        }
+        Object[] bounds = em.createQuery("select min(m.id), max(m.id) from Member m", Object[].class)
+                .getSingleResult();
+        if (bounds[0] == null) {
+            return checkpoints;
+        }
+        List<JobCheckpoint> created = new ArrayList<>();
+        for (IdRange range : IdRange.split((Long) bounds[0], (Long) bounds[1], partitions)) {
+            created.add(new JobCheckpoint(jobName, range.getStart(), range.getEnd()));
+        }
+        return checkpointRepository.saveAll(created);
+    }
+}
@@ -0,0 +1,55 @@
+package study.datajpa.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * soft delete 된 회원 중 보존 기간(retention)이 지난 행만 사용량이 적은 시간에 배치로 물리 삭제한다.
+ * 배치마다 별도 트랜잭션이라 한 번에 잡는 락이 purgeBatchSize 행을 넘지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberTombstonePurger {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TombstonePurgeProperties properties;
+
+    @Scheduled(cron = "${datajpa.soft-delete.purge-cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        purge();
+    }
+
+    /**
+     * @return 물리 삭제한 행 수
+     */
+    public int purge() {
+        long start = System.nanoTime();
+        long deadline = start + properties.getPurgeMaxDuration().toNanos();
+        int batchSize = properties.getPurgeBatchSize();
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(properties.getRetention()));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int total = 0;
+        while (System.nanoTime() < deadline) {
+            Integer purged = transactionTemplate.execute(status -> jdbcTemplate.update("delete from member where member_id in" +
+                    " (select member_id from member where deleted = true and deleted_at < ? order by deleted_at limit ?)",
+                    cutoff, batchSize));
+            total += purged == null ? 0 : purged;
+            if (purged == null || purged < batchSize) {
+                break;
+            }
+        }
+        log.info("member tombstones purged. rows={}, elapsed={}ms", total, (System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+}
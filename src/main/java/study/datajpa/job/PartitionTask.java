@@ -0,0 +1,17 @@
+package study.datajpa.job;
+
+import jakarta.persistence.EntityManager;
+import study.datajpa.service.IdRange;
+
+/**
+ * 회원 id 범위 하나를 처리하는 작업. 파티션마다 새 트랜잭션 안에서 호출된다.
+ * 파티션이 크면 중간중간 em.flush() / em.clear() 로 영속성 컨텍스트를 비울 것.
+ */
+@FunctionalInterface
+public interface PartitionTask {
+
+    /**
+     * @return 처리한 행 수
+     */
+    long process(EntityManager em, IdRange range);
+}
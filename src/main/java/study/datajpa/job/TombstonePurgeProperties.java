@@ -0,0 +1,28 @@
+package study.datajpa.job;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datajpa.soft-delete")
+public class TombstonePurgeProperties {
+
+    /**
+     * 한 트랜잭션에서 물리 삭제할 최대 행 수 (락 유지 시간을 짧게)
+     */
+    private int purgeBatchSize = 1000;
+
+    /**
+     * 한 번 실행에서 쓸 최대 시간. 남은 행은 다음 실행에서
+     */
+    private Duration purgeMaxDuration = Duration.ofMinutes(30);
+
+    /**
+     * 삭제 후 물리 삭제까지 보존 기간 (복구, 감사 대응)
+     */
+    private Duration retention = Duration.ofDays(30);
+}
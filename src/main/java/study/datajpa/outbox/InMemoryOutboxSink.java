@@ -0,0 +1,42 @@
+package study.datajpa.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 프로세스 내 싱크 (테스트용). 최근 capacity 건만 보관하고 나머지는 버리므로 운영에서 쓰면 이벤트가 사라진다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "datajpa.outbox", name = "sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryOutboxSink(OutboxProperties properties) {
+        this.capacity = properties.getMemoryCapacity();
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    public synchronized List<OutboxMessage> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    public synchronized void clear() {
+        messages.clear();
+    }
+}
@@ -0,0 +1,74 @@
+package study.datajpa.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * outbox_event 를 id 순으로 batchSize 건씩 읽어 싱크로 보내고, 보낸 행만 삭제한다.
+ * 배치마다 트랜잭션이 따로라 메모리에는 한 배치만 올라온다. 싱크 전송 후 삭제가 실패하면 다시 보내므로 최소 한 번 전달.
+ * 늦게 커밋된 작은 id 도 놓치지 않도록 커서 없이 항상 남은 행의 앞에서부터 읽는다.
+ * 여러 노드가 동시에 돌아도 배치 행을 FOR UPDATE SKIP LOCKED 로 잠가서, 다른 노드가 잡은 행은 건너뛴다 (같은 행을 두 번 보내지 않음).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "${datajpa.outbox.dispatch-delay:1000}")
+    public void scheduledDispatch() {
+        if (properties.isDispatchEnabled()) {
+            dispatch();
+        }
+    }
+
+    /**
+     * @return 이번 주기에 보낸 이벤트 수
+     */
+    public synchronized int dispatch() {
+        int total = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            Integer sent = transactionTemplate.execute(status -> dispatchBatch());
+            total += sent;
+            if (sent < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("outbox dispatched. events={}", total);
+        }
+        return total;
+    }
+
+    private int dispatchBatch() {
+        List<OutboxMessage> batch = jdbcTemplate.query("select outbox_event_id, tenant_id, aggregate_type, aggregate_id, event_type," +
+                        " payload, created_date from outbox_event order by outbox_event_id limit ? for update skip locked",
+                (rs, rowNum) -> new OutboxMessage(
+                        rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4), rs.getString(5), rs.getString(6),
+                        rs.getTimestamp(7) == null ? null : rs.getTimestamp(7).toLocalDateTime()),
+                properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        sink.publish(batch);
+
+        List<Object[]> ids = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            ids.add(new Object[]{message.getId()});
+        }
+        jdbcTemplate.batchUpdate("delete from outbox_event where outbox_event_id = ?", ids);
+        return batch.size();
+    }
+}
@@ -0,0 +1,157 @@
+package study.datajpa.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberUpsert;
+import study.datajpa.repository.MembersBulkDeletedEvent;
+import study.datajpa.repository.MembersUpsertedEvent;
+import study.datajpa.support.TenantContext;
+import study.datajpa.support.TransactionClock;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Member / Team 변경을 같은 트랜잭션 안에서 outbox_event 에 기록한다 (롤백되면 이벤트도 함께 사라짐).
+ * payload 는 변경 후 상태의 주요 컬럼만 담은 작은 JSON. 삭제는 id 만 남긴다.
+ * 팀 회원 수는 team_summary 에서만 증감해 Team 의 메모리 값이 낡았을 수 있으므로 싣지 않는다 (받는 쪽은 Member 이벤트의 teamId 로 센다).
+ */
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class OutboxEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String INSERT_EVENT = "insert into outbox_event (tenant_id, aggregate_type, aggregate_id," +
+            " event_type, payload, created_date) values (?, ?, ?, ?, ?, ?)";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        write(event.getSession(), event.getEntity(), "CREATED");
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        write(event.getSession(), event.getEntity(), "UPDATED");
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        write(event.getSession(), event.getEntity(), "DELETED");
+    }
+
+    // 벌크 삭제는 엔티티 이벤트가 없으므로 같은 트랜잭션에서 한 번에 기록 (벌크 작업은 현재 테넌트 범위)
+    @EventListener
+    public void onBulkDeleted(MembersBulkDeletedEvent event) {
+        String tenantId = TenantContext.getTenantId();
+        Timestamp now = Timestamp.valueOf(TransactionClock.now());
+        List<Object[]> rows = new ArrayList<>(event.getMemberIds().size());
+        for (Long memberId : event.getMemberIds()) {
+            rows.add(new Object[]{tenantId, "Member", memberId, "DELETED", null, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+    }
+
+    @EventListener
+    public void onUpserted(MembersUpsertedEvent event) {
+        String tenantId = TenantContext.getTenantId();
+        Timestamp now = Timestamp.valueOf(TransactionClock.now());
+        List<Object[]> rows = new ArrayList<>(event.getInserted().size() + event.getUpdated().size());
+        event.getInserted().forEach((memberId, member) ->
+                rows.add(new Object[]{tenantId, "Member", memberId, "CREATED", toJson(payload(member)), now}));
+        event.getUpdated().forEach((memberId, member) ->
+                rows.add(new Object[]{tenantId, "Member", memberId, "UPDATED", toJson(payload(member)), now}));
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+    }
+
+    private static Map<String, Object> payload(MemberUpsert member) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("username", member.getUsername());
+        payload.put("age", member.getAge());
+        payload.put("teamId", member.getTeamId());
+        return payload;
+    }
+
+    private void write(EventSource session, Object entity, String eventType) {
+        String tenantId = session.getTenantIdentifier();
+        String aggregateType;
+        Long aggregateId;
+        Map<String, Object> payload = new LinkedHashMap<>();
+        if (entity instanceof Member member) {
+            aggregateType = "Member";
+            aggregateId = member.getId();
+            payload.put("username", member.getUsername());
+            payload.put("age", member.getAge());
+            payload.put("teamId", member.getTeam() == null ? null : member.getTeam().getId());
+        } else if (entity instanceof Team team) {
+            aggregateType = "Team";
+            aggregateId = team.getId();
+            payload.put("name", team.getName());
+        } else {
+            return;
+        }
+        String json = "DELETED".equals(eventType) ? null : toJson(payload);
+
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_EVENT)) {
+                ps.setString(1, tenantId);
+                ps.setString(2, aggregateType);
+                ps.setLong(3, aggregateId);
+                ps.setString(4, eventType);
+                ps.setString(5, json);
+                ps.setTimestamp(6, Timestamp.valueOf(TransactionClock.now()));
+                ps.executeUpdate();
+            }
+        });
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("아웃박스 payload 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package study.datajpa.outbox;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 싱크로 보내는 아웃박스 이벤트 한 건
+ */
+@Getter
+@ToString
+public class OutboxMessage {
+
+    private final long id;
+    private final String tenantId;
+    private final String aggregateType;
+    private final long aggregateId;
+    private final String eventType;
+    private final String payload;
+    private final LocalDateTime createdDate;
+
+    public OutboxMessage(long id, String tenantId, String aggregateType, long aggregateId, String eventType,
+                         String payload, LocalDateTime createdDate) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdDate = createdDate;
+    }
+}
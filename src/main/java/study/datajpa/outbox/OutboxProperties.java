@@ -0,0 +1,35 @@
+package study.datajpa.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datajpa.outbox")
+public class OutboxProperties {
+
+    /**
+     * 백그라운드 전송 여부 (끄면 이벤트는 쌓이기만 함)
+     */
+    private boolean dispatchEnabled = true;
+
+    /**
+     * 한 번에 읽고 보내는 이벤트 수 (메모리에 올라오는 최대 행 수)
+     */
+    private int batchSize = 500;
+
+    /**
+     * 한 주기에 보낼 최대 배치 수. 나머지는 다음 주기로 넘긴다
+     */
+    private int maxBatchesPerRun = 20;
+
+    /**
+     * file | memory(테스트 전용). 기본값이 없어서 설정하지 않으면 OutboxSink 빈이 없어 기동에 실패한다
+     */
+    private String sink;
+
+    private String file = "outbox-events.jsonl";
+
+    private int memoryCapacity = 10_000;
+}
@@ -0,0 +1,11 @@
+package study.datajpa.outbox;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트를 받는 쪽 (브로커 자리). 예외를 던지면 배치 전체가 다음 주기에 다시 전송된다.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages);
+}
@@ -0,0 +1,140 @@
+package study.datajpa.perf;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.datajpa.service.TeamSummaryService;
+import study.datajpa.support.TenantContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * perf 프로필에서 기동 시 부하 테스트용 데이터를 JDBC 배치 insert 로 넣는다.
+ * 팀 크기는 Zipf 분포로 쏠리게, 이름은 흔한 성/이름 조합이 자주 나오도록 만든다. 같은 seed 면 같은 데이터.
+ * 테넌트가 여러 개면 팀을 tenant0, tenant1 ... 에 번갈아 넣고, 회원은 팀의 테넌트를 따른다.
+ */
+@Slf4j
+@Component
+@Profile("perf")
+@RequiredArgsConstructor
+public class PerfDataGenerator implements ApplicationRunner {
+
+    private static final String CREATED_BY = "perf-generator";
+
+    private static final String[] FIRST_NAMES = {
+            "minjun", "seoyeon", "jiho", "seoyun", "junseo", "jiwoo", "hajun", "haeun", "dohyun", "jiyu",
+            "james", "mary", "john", "patricia", "robert", "jennifer", "michael", "linda", "david", "emma"};
+    private static final String[] LAST_NAMES = {
+            "kim", "lee", "park", "choi", "jung", "kang", "cho", "yoon", "jang", "lim",
+            "smith", "johnson", "williams", "brown", "jones", "garcia", "miller", "davis"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PerfDataProperties properties;
+    private final TeamSummaryService teamSummaryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        Random random = new Random(properties.getSeed());
+        int teams = properties.getTeams();
+        int members = properties.getMembers();
+
+        double[] teamDistribution = zipf(teams, properties.getTeamSkew());
+        double[] firstNameDistribution = zipf(FIRST_NAMES.length, 1.0);
+        double[] lastNameDistribution = zipf(LAST_NAMES.length, 1.2);
+
+        int[] teamOf = new int[members];
+        long[] teamSizes = new long[teams];
+        for (int i = 0; i < members; i++) {
+            teamOf[i] = sample(teamDistribution, random);
+            teamSizes[teamOf[i]]++;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insertTeams(teamSizes, now);
+        insertMembers(teamOf, random, firstNameDistribution, lastNameDistribution, now);
+        teamSummaryService.rebuildAll(); // JDBC 적재는 엔티티 이벤트를 거치지 않으므로 요약을 한 번에 만든다
+
+        log.info("perf data generated. tenants={}, teams={}, members={}, largestTeam={}, elapsed={}ms",
+                properties.getTenants(), teams, members, Arrays.stream(teamSizes).max().orElse(0), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void insertTeams(long[] teamSizes, Timestamp now) {
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < teamSizes.length; i++) {
+            batch.add(new Object[]{i + 1L, tenantOf(i), "team" + (i + 1), now, now, CREATED_BY, CREATED_BY});
+            if (batch.size() == properties.getBatchSize()) {
+                flushTeams(batch);
+            }
+        }
+        flushTeams(batch);
+        // 하이버네이트가 이후에 만드는 팀 id 와 겹치지 않도록 시퀀스를 뒤로 민다 (allocationSize 50 고려)
+        jdbcTemplate.execute("alter sequence team_seq restart with " + (teamSizes.length + 100L));
+    }
+
+    private void flushTeams(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, tenant_id, name, created_date, last_modified_date," +
+                " created_by, last_modified_by) values (?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private void insertMembers(int[] teamOf, Random random, double[] firstNameDistribution,
+                               double[] lastNameDistribution, Timestamp now) {
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < teamOf.length; i++) {
+            String username = FIRST_NAMES[sample(firstNameDistribution, random)] + "."
+                    + LAST_NAMES[sample(lastNameDistribution, random)] + i;
+            int age = (int) Math.max(15, Math.min(80, Math.round(35 + random.nextGaussian() * 12)));
+            batch.add(new Object[]{tenantOf(teamOf[i]), username, age, teamOf[i] + 1L, now, now, CREATED_BY, CREATED_BY});
+            if (batch.size() == properties.getBatchSize()) {
+                flushMembers(batch);
+            }
+        }
+        flushMembers(batch);
+    }
+
+    private void flushMembers(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("insert into member (tenant_id, username, age, team_id, created_date, last_modified_date," +
+                " created_by, last_modified_by, deleted) values (?, ?, ?, ?, ?, ?, ?, ?, false)", batch);
+        batch.clear();
+    }
+
+    private String tenantOf(int teamIndex) {
+        int tenants = properties.getTenants();
+        return tenants <= 1 ? TenantContext.DEFAULT : "tenant" + (teamIndex % tenants);
+    }
+
+    // 누적 분포: k 번째(0부터) 원소의 가중치 1 / (k+1)^s
+    private static double[] zipf(int n, double s) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, s);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
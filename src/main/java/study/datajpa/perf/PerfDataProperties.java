@@ -0,0 +1,19 @@
+package study.datajpa.perf;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "perf.data")
+public class PerfDataProperties {
+
+    private int members = 1_000_000;
+    private int teams = 2_000;
+    // 팀을 테넌트에 번갈아 나눠 담는다. 1 이면 모두 기본 테넌트 (X-Tenant-Id 없이 조회)
+    private int tenants = 1;
+    private double teamSkew = 1.1;
+    private int batchSize = 5_000;
+    private long seed = 42L;
+}
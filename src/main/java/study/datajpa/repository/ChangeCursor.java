@@ -0,0 +1,79 @@
+package study.datajpa.repository;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import study.datajpa.support.TransactionClock;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 변경 피드 키셋 커서: 마지막으로 받은 행의 (lastModifiedDate, id).
+ * 클라이언트에는 token 문자열로 주고받는다.
+ */
+@Getter
+@EqualsAndHashCode
+public class ChangeCursor {
+
+    public static final Duration DEFAULT_COMMIT_LAG = Duration.ofSeconds(5);
+
+    // datajpa.change-feed.commit-lag (ChangeFeedProperties 가 기동 시 넣음)
+    private static volatile Duration commitLag = DEFAULT_COMMIT_LAG;
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LocalDateTime lastModifiedDate;
+    private final long id;
+
+    public ChangeCursor(LocalDateTime lastModifiedDate, long id) {
+        this.lastModifiedDate = lastModifiedDate;
+        this.id = id;
+    }
+
+    /**
+     * 수정 시각은 트랜잭션 시작 시점(TransactionClock)이라 커밋이 늦으면 이미 지나간 시각으로 나타난다.
+     * 이 JVM 에서 진행 중인 트랜잭션이 있으면 그 시작 시각 전까지만 내주고 (트랜잭션 길이와 상관없이 늦게 커밋된 행을 놓치지 않음),
+     * 다른 노드의 트랜잭션과 시계 차이는 commitLag 만큼 늦춰서 덮는다.
+     */
+    public static LocalDateTime safeUntil() {
+        LocalDateTime until = LocalDateTime.now().minus(commitLag);
+        return TransactionClock.oldestInFlight()
+                .filter(oldest -> oldest.isBefore(until))
+                .orElse(until);
+    }
+
+    public static void setCommitLag(Duration lag) {
+        commitLag = lag;
+    }
+
+    public static ChangeCursor start() {
+        return new ChangeCursor(BEGINNING, 0L);
+    }
+
+    public static ChangeCursor parse(String token) {
+        if (token == null || token.isEmpty()) {
+            return start();
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(',');
+            return new ChangeCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + token, e);
+        }
+    }
+
+    public String toToken() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((lastModifiedDate + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String toString() {
+        return lastModifiedDate + "," + id;
+    }
+}
@@ -0,0 +1,34 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 변경 피드 한 페이지. 다음 요청에는 next 를 그대로 넘긴다 (받은 행이 없으면 요청한 커서 그대로).
+ * 삭제는 이 피드에 나타나지 않음 -> outbox_event 의 DELETED 이벤트로 받는다.
+ */
+@Getter
+public class ChangeFeed<T> {
+
+    private final List<T> content;
+    private final ChangeCursor next;
+    private final boolean hasMore;
+
+    public ChangeFeed(List<T> content, ChangeCursor next, boolean hasMore) {
+        this.content = content;
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    static <T> ChangeFeed<T> of(List<T> rows, int limit, ChangeCursor cursor,
+                                Function<T, LocalDateTime> lastModifiedDate, Function<T, Long> id) {
+        if (rows.isEmpty()) {
+            return new ChangeFeed<>(rows, cursor, false);
+        }
+        T last = rows.get(rows.size() - 1);
+        return new ChangeFeed<>(rows, new ChangeCursor(lastModifiedDate.apply(last), id.apply(last)), rows.size() == limit);
+    }
+}
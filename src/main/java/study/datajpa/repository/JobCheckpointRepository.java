@@ -0,0 +1,24 @@
+package study.datajpa.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import study.datajpa.entity.JobCheckpoint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, Long> {
+
+    List<JobCheckpoint> findByJobNameOrderByRangeStart(String jobName);
+
+    @Modifying
+    @Query("update JobCheckpoint c set c.completed = true, c.rowsProcessed = :rows, c.completedDate = :completedDate" +
+            " where c.id = :id")
+    int complete(@Param("id") Long id, @Param("rows") long rows, @Param("completedDate") LocalDateTime completedDate);
+
+    @Modifying
+    @Query("delete from JobCheckpoint c where c.jobName = :jobName")
+    int deleteByJobName(@Param("jobName") String jobName);
+}
@@ -0,0 +1,8 @@
+package study.datajpa.repository;
+
+public interface MemberCardinality {
+
+    long getMemberCount();
+
+    long getTeamCount();
+}
@@ -2,20 +2,27 @@ package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import study.datajpa.entity.Member;
+import study.datajpa.support.PersistenceContextGuard;
+import study.datajpa.support.TransactionClock;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final PersistenceContextGuard persistenceContextGuard;
+
     public Member save(Member member) {
         em.persist(member);
+        persistenceContextGuard.afterWrite();
         return member;
     }
 
@@ -24,8 +31,10 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findAll() {
-        return em.createQuery("select m from Member m", Member.class)
+        List<Member> members = em.createQuery("select m from Member m", Member.class)
                 .getResultList();
+        persistenceContextGuard.afterRead();
+        return members;
     }
 
     public Optional<Member> findById(Long id) {
@@ -64,7 +73,9 @@ public class MemberJpaRepository {
     }
 
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+        // 벌크 UPDATE 는 감사 콜백을 거치지 않으므로 수정 시각을 직접
+        return em.createQuery("update Member m set m.age = m.age + 1, m.lastModifiedDate = :now where m.age >= :age")
+                .setParameter("now", TransactionClock.now())
                 .setParameter("age", age)
                 .executeUpdate();
     }
@@ -2,6 +2,7 @@ package study.datajpa.repository;
 
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -9,10 +10,13 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import study.datajpa.entity.Member;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.support.TransactionClock;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
 
@@ -47,9 +51,14 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 //            countQuery = "select count(m.username) from Member m")
     Page<Member> findByAge(int age, Pageable pageable);
 
+    // 벌크 UPDATE 는 감사 콜백(@LastModifiedDate)을 거치지 않으므로 수정 시각을 직접 넣는다 (변경 피드에 나타나도록)
     @Modifying
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
-    int bulkAgePlus(@Param("age") int age);
+    @Query("update Member m set m.age = m.age + 1, m.lastModifiedDate = :now where m.age >= :age")
+    int bulkAgePlus(@Param("age") int age, @Param("now") LocalDateTime now);
+
+    default int bulkAgePlus(int age) {
+        return bulkAgePlus(age, TransactionClock.now());
+    }
 
     @Query("select m from Member m join fetch m.team t")
     List<Member> findMemberFetchJoin();
@@ -75,11 +84,58 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     //    List<UsernameOnly> findProjectionsByUsername(@Param("username") String username);
     <T> List<T> findProjectionsByUsername(@Param("username") String username, Class<T> type);
 
-    @Query(value = "select * from member where username = ?", nativeQuery = true)
-    Member findByNativeQuery(String username);
+    List<Member> findListByAge(int age);
+
+    List<Member> findListByAgeOrderById(int age);
+
+    @Query("select m.id from Member m where m.age = :age order by m.id")
+    List<Long> findIdsByAge(@Param("age") int age);
+
+    // MemberLoader 의 세 전략이 같은 순서(id)로 돌려주도록 정렬
+    @Query("select m from Member m left join fetch m.team where m.age = :age order by m.id")
+    List<Member> findWithTeamByAge(@Param("age") int age);
 
-    @Query(value = "select m.member_id as id, m.username, t.name as teamName from member m left join team t",
-            countQuery = "select count(*) from member",
+    @Query("select m from Member m left join fetch m.team where m.id in :ids")
+    List<Member> findWithTeamByIds(@Param("ids") Collection<Long> ids);
+
+    // 조회 전략을 고르기 위한 예상 결과 건수와 팀 수
+    @Query("select count(m) as memberCount, count(distinct m.team.id) as teamCount from Member m where m.age = :age")
+    MemberCardinality estimateByAge(@Param("age") int age);
+
+    // 자동완성 인덱스 적재용 (트랜잭션 안에서 사용하고 반드시 close)
+    @QueryHints(value = @QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select m.username from Member m where m.username is not null")
+    Stream<String> streamUsernames();
+
+    // 응답에 팀 이름이 필요한 페이지 조회. team 을 같이 가져와서 트랜잭션 밖(OSIV 꺼짐)에서 지연 로딩하지 않음
+    @EntityGraph(attributePaths = {"team"})
+    @Query(value = "select m from Member m", countQuery = "select count(m) from Member m")
+    Page<Member> findAllWithTeam(Pageable pageable);
+
+    // 변경 피드: (lastModifiedDate, id) 키셋. 앞 조건(>= since)으로 idx_member_modified 범위 스캔, OFFSET 없음
+    @Query("select m from Member m where m.lastModifiedDate >= :since and m.lastModifiedDate < :until" +
+            " and (m.lastModifiedDate > :since or m.id > :id) order by m.lastModifiedDate, m.id")
+    List<Member> findChangedBetween(@Param("since") LocalDateTime since, @Param("id") Long id,
+                                    @Param("until") LocalDateTime until, Limit limit);
+
+    default ChangeFeed<Member> findChangedSince(ChangeCursor cursor, int limit) {
+        return findChangedSince(cursor, limit, ChangeCursor.safeUntil());
+    }
+
+    default ChangeFeed<Member> findChangedSince(ChangeCursor cursor, int limit, LocalDateTime until) {
+        List<Member> rows = findChangedBetween(cursor.getLastModifiedDate(), cursor.getId(), until, Limit.of(limit));
+        return ChangeFeed.of(rows, limit, cursor, Member::getLastModifiedDate, Member::getId);
+    }
+
+    // 네이티브 쿼리는 @TenantId 조건이 붙지 않으므로 현재 테넌트(SpEL)를 직접 비교
+    @Query(value = "select * from member where tenant_id = :#{T(study.datajpa.support.TenantContext).getTenantId()}" +
+            " and username = :username and deleted = false", nativeQuery = true)
+    Member findByNativeQuery(@Param("username") String username);
+
+    @Query(value = "select m.member_id as id, m.username, t.name as teamName from member m left join team t" +
+            " where m.tenant_id = :#{T(study.datajpa.support.TenantContext).getTenantId()} and m.deleted = false",
+            countQuery = "select count(*) from member" +
+                    " where tenant_id = :#{T(study.datajpa.support.TenantContext).getTenantId()} and deleted = false",
             nativeQuery = true)
     Page<MemberProjection> findByNativeProjection(Pageable pageable);
 
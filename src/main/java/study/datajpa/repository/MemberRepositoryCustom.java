@@ -1,9 +1,27 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import study.datajpa.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
+
+    // id 페이지를 먼저 구하고 그 id 들만 fetch join 으로 조회 (메모리 페이징 없음)
+    Page<Member> findPageWithTeamByAge(int age, Pageable pageable);
+
+    // 엔티티를 하나씩 remove 하지 않고 id IN 으로 나눠서 삭제. 삭제된 건수를 돌려준다
+    int bulkDeleteByTeam(Long teamId);
+
+    int bulkDeleteByAgeBetween(int minAge, int maxAge);
+
+    int bulkDeleteByIds(Collection<Long> ids);
+
+    // username 기준 일괄 추가/수정. 엔티티를 읽지 않고 MERGE INTO 로 나눠서 반영 (같은 username 이 여러 번이면 마지막 값)
+    // username 에 유일 제약이 없어서 같은 이름의 활성 회원이 여럿이면 가장 먼저 생긴 회원만 수정한다
+    // 같은 새 username 을 동시에 upsert 하면 둘 다 추가될 수 있으므로 호출하는 쪽에서 username 별로 나눠 실행할 것
+    UpsertResult upsertByUsername(Collection<MemberUpsert> members);
 }
@@ -2,17 +2,331 @@ package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.support.TransactionClock;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom{
 
+    // IN 목록 / MERGE VALUES 한 문장에 넣는 최대 행 수
+    private static final int BATCH_SIZE = 500;
+
     private final EntityManager em;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditorAware<String> auditorAware;
+
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
+
+    @Override
+    public Page<Member> findPageWithTeamByAge(int age, Pageable pageable) {
+        // 1단계: 정렬, 페이징을 적용해서 id 만 조회 (같은 값이 있어도 순서가 고정되도록 id 로 마무리)
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        String idQuery = QueryUtils.applySorting("select m.id from Member m where m.age = :age", sort, "m");
+        List<Long> ids = em.createQuery(idQuery, Long.class)
+                .setParameter("age", age)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // 2단계: 그 id 들만 fetch join 으로 한 번에 조회하고 1단계 순서대로 다시 정렬
+        List<Member> content = hydrate(ids);
+
+        return PageableExecutionUtils.getPage(content, pageable, () ->
+                em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                        .setParameter("age", age)
+                        .getSingleResult());
+    }
+
+    private List<Member> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Member> members = em.createQuery("select m from Member m left join fetch m.team where m.id in :ids", Member.class)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        Map<Long, Member> byId = new HashMap<>();
+        for (Member member : members) {
+            byId.put(member.getId(), member);
+        }
+        List<Member> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Member member = byId.get(id);
+            if (member != null) {
+                ordered.add(member);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    @Transactional
+    public int bulkDeleteByTeam(Long teamId) {
+        return bulkDelete(em.createQuery("select m.id, m.username, m.team.id from Member m where m.team.id = :teamId", Object[].class)
+                .setParameter("teamId", teamId)
+                .getResultList());
+    }
+
+    @Override
+    @Transactional
+    public int bulkDeleteByAgeBetween(int minAge, int maxAge) {
+        return bulkDelete(em.createQuery("select m.id, m.username, m.team.id from Member m where m.age between :minAge and :maxAge", Object[].class)
+                .setParameter("minAge", minAge)
+                .setParameter("maxAge", maxAge)
+                .getResultList());
+    }
+
+    @Override
+    @Transactional
+    public int bulkDeleteByIds(Collection<Long> ids) {
+        List<Object[]> rows = new ArrayList<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(ids))) {
+            rows.addAll(em.createQuery("select m.id, m.username, m.team.id from Member m where m.id in :ids", Object[].class)
+                    .setParameter("ids", chunk)
+                    .getResultList());
+        }
+        return bulkDelete(rows);
+    }
+
+    @Override
+    @Transactional
+    public UpsertResult upsertByUsername(Collection<MemberUpsert> members) {
+        Map<String, MemberUpsert> byUsername = new LinkedHashMap<>();
+        for (MemberUpsert member : members) {
+            byUsername.put(member.getUsername(), member);
+        }
+        if (byUsername.isEmpty()) {
+            return new UpsertResult(0, 0);
+        }
+        em.flush(); // 아직 반영 안 된 변경이 MERGE 와 섞이지 않도록
+
+        Session session = em.unwrap(Session.class);
+        String tenantId = session.getTenantIdentifier();
+        Timestamp timestamp = Timestamp.valueOf(TransactionClock.now());
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        Map<Long, MemberUpsert> inserted = new LinkedHashMap<>();
+        Map<Long, MemberUpsert> updated = new LinkedHashMap<>();
+        Set<Long> teamIds = new HashSet<>();
+
+        // 변경 전후 행을 따로 읽지 않고, 각 문장이 실제로 바꾼 행을 데이터 변경 델타 테이블로 돌려받는다
+        // -> 건수와 id 가 같은 문장에서 나와서 동시에 다른 트랜잭션이 바꿔도 어긋나지 않음
+        for (List<MemberUpsert> chunk : chunks(new ArrayList<>(byUsername.values()))) {
+            // row: [id, username, 이전 teamId]
+            for (Object[] row : session.doReturningWork(connection -> updateExisting(connection, chunk, tenantId, timestamp, auditor))) {
+                MemberUpsert upsert = byUsername.get((String) row[1]);
+                updated.put((Long) row[0], upsert);
+                addIfNotNull(teamIds, (Long) row[2]);
+                addIfNotNull(teamIds, upsert.getTeamId());
+            }
+            // row: [id, username]
+            for (Object[] row : session.doReturningWork(connection -> insertMissing(connection, chunk, tenantId, timestamp, auditor))) {
+                MemberUpsert upsert = byUsername.get((String) row[1]);
+                inserted.put((Long) row[0], upsert);
+                addIfNotNull(teamIds, upsert.getTeamId());
+            }
+        }
+
+        // 팀 회원 수(team_summary)는 이벤트를 받은 TeamSummaryService 가 다시 계산한 뒤에 팀을 refresh
+        eventPublisher.publishEvent(new MembersUpsertedEvent(inserted, updated, teamIds));
+        evict(new ArrayList<>(updated.keySet()), teamIds);
+        return new UpsertResult(inserted.size(), updated.size());
+    }
+
+    // 값이 바뀌는 기존 회원만 UPDATE 하고 (같은 값이면 수정 시각도 그대로) 바뀐 행의 이전 값을 OLD TABLE 로 돌려받는다
+    // 네이티브 SQL 이라 세션의 테넌트를 직접 비교한다 (username 은 테넌트 안에서만 같은 회원)
+    // username 은 유일하지 않으므로(save 로 같은 이름을 여러 번 저장할 수 있음) 활성 회원 중 id 가 가장 작은 한 행만 맞춘다
+    private static List<Object[]> updateExisting(Connection connection, List<MemberUpsert> chunk, String tenantId,
+                                                 Timestamp now, String auditor) throws SQLException {
+        String sql = "select member_id, username, team_id from old table (" +
+                "merge into member m using (values " + valueRows(chunk.size()) + ") as s(username, age, team_id)" +
+                " on m.tenant_id = ? and m.username = s.username and m.deleted = false" +
+                " and m.member_id = (select min(x.member_id) from member x" +
+                " where x.tenant_id = m.tenant_id and x.username = s.username and x.deleted = false)" +
+                " when matched and (m.age <> s.age or m.team_id is distinct from s.team_id) then" +
+                " update set age = s.age, team_id = s.team_id, last_modified_date = ?, last_modified_by = ?)";
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = bindValues(ps, chunk, 1);
+            ps.setString(index++, tenantId);
+            ps.setTimestamp(index++, now);
+            ps.setString(index, auditor);
+            return readRows(ps, 3);
+        }
+    }
+
+    // 활성 회원이 없는 username 만 INSERT 하고 새 id 를 FINAL TABLE 로 돌려받는다
+    private static List<Object[]> insertMissing(Connection connection, List<MemberUpsert> chunk, String tenantId,
+                                                Timestamp now, String auditor) throws SQLException {
+        String sql = "select member_id, username from final table (" +
+                "insert into member (tenant_id, username, age, team_id, created_date, last_modified_date, created_by, last_modified_by, deleted)" +
+                " select cast(? as varchar(64)), s.username, s.age, s.team_id, cast(? as timestamp(6)), cast(? as timestamp(6))," +
+                " cast(? as varchar(255)), cast(? as varchar(255)), false" +
+                " from (values " + valueRows(chunk.size()) + ") as s(username, age, team_id)" +
+                " where not exists (select 1 from member x" +
+                " where x.tenant_id = ? and x.username = s.username and x.deleted = false))";
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            ps.setString(index++, tenantId);
+            ps.setTimestamp(index++, now);
+            ps.setTimestamp(index++, now);
+            ps.setString(index++, auditor);
+            ps.setString(index++, auditor);
+            index = bindValues(ps, chunk, index);
+            ps.setString(index, tenantId);
+            return readRows(ps, 2);
+        }
+    }
+
+    private static String valueRows(int size) {
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < size; i++) {
+            values.add("(cast(? as varchar(255)), cast(? as integer), cast(? as bigint))");
+        }
+        return values.toString();
+    }
+
+    // 다음에 바인딩할 파라미터 위치를 돌려준다
+    private static int bindValues(PreparedStatement ps, List<MemberUpsert> chunk, int index) throws SQLException {
+        for (MemberUpsert member : chunk) {
+            ps.setString(index++, member.getUsername());
+            ps.setInt(index++, member.getAge());
+            if (member.getTeamId() == null) {
+                ps.setNull(index++, Types.BIGINT);
+            } else {
+                ps.setLong(index++, member.getTeamId());
+            }
+        }
+        return index;
+    }
+
+    // 컬럼 순서: member_id, username[, team_id]
+    private static List<Object[]> readRows(PreparedStatement ps, int columns) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Object[] row = new Object[columns];
+                row[0] = rs.getLong(1);
+                row[1] = rs.getString(2);
+                if (columns > 2) {
+                    long teamId = rs.getLong(3);
+                    row[2] = rs.wasNull() ? null : teamId;
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static void addIfNotNull(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    // rows: [id, username, teamId]
+    private int bulkDelete(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        em.flush(); // 아직 반영 안 된 변경이 벌크 삭제와 섞이지 않도록
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<String> usernames = new ArrayList<>(rows.size());
+        Set<Long> teamIds = new HashSet<>();
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+            usernames.add((String) row[1]);
+            addIfNotNull(teamIds, (Long) row[2]);
+        }
+
+        // @SQLDelete 는 JPQL 벌크 delete 에 적용되지 않으므로 soft delete 를 직접 UPDATE 로
+        // 벌크 UPDATE 도 하이버네이트가 2차 캐시 영역을 함께 무효화한다
+        LocalDateTime now = TransactionClock.now();
+        int deleted = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            deleted += em.createQuery("update Member m set m.deleted = true, m.deletedAt = :now where m.id in :ids")
+                    .setParameter("now", now)
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+
+        // 팀 회원 수(team_summary)는 이벤트를 받은 TeamSummaryService 가 다시 계산한 뒤에 팀을 refresh
+        eventPublisher.publishEvent(new MembersBulkDeletedEvent(ids, usernames, teamIds));
+        evict(ids, teamIds);
+        return deleted;
+    }
+
+    // 영속성 컨텍스트에 남아 있는 삭제된 회원은 분리하고, 이미 로딩된 팀은 members / memberCount 를 다시 읽는다
+    private void evict(List<Long> memberIds, Collection<Long> teamIds) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister memberPersister = persister(session, Member.class);
+        for (Long id : memberIds) {
+            Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, memberPersister));
+            if (managed instanceof Member member) {
+                Team team = member.getTeam();
+                if (team != null && Hibernate.isInitialized(team) && Hibernate.isInitialized(team.getMembers())) {
+                    team.getMembers().remove(member);
+                }
+                em.detach(member);
+            }
+        }
+
+        EntityPersister teamPersister = persister(session, Team.class);
+        for (Long teamId : teamIds) {
+            Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(teamId, teamPersister));
+            if (managed != null) {
+                em.refresh(managed);
+            }
+        }
+    }
+
+    private static EntityPersister persister(SessionImplementor session, Class<?> entityClass) {
+        return session.getFactory().getRuntimeMetamodels().getMappingMetamodel().getEntityDescriptor(entityClass);
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += BATCH_SIZE) {
+            chunks.add(list.subList(i, Math.min(i + BATCH_SIZE, list.size())));
+        }
+        return chunks;
+    }
 }
@@ -0,0 +1,162 @@
+package study.datajpa.repository;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import study.datajpa.support.TenantContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 회원 페이지를 엔티티/DTO 로 만들지 않고 JDBC ResultSet 에서 JsonGenerator 로 바로 쓴다.
+ * 출력 모양은 Page&lt;MemberDto&gt; 를 Jackson 으로 직렬화한 것과 같다.
+ * 포맷은 generator 가 정한다 (JSON, CBOR 모두 같은 코드).
+ * SQL(정렬 검증 포함)은 아무것도 쓰기 전에 만든다. 잘못된 정렬이면 응답이 커밋되기 전에 UnsupportedSortException.
+ * JDBC 라서 @TenantId 조건이 자동으로 붙지 않으므로 현재 테넌트 조건을 직접 넣는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberStreamRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    // 정렬 가능한 속성 -> 컬럼 (그 외 속성은 SQL 에 그대로 넣지 않는다)
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "m.member_id",
+            "username", "m.username",
+            "age", "m.age",
+            "teamName", "t.name");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * SQL 을 먼저 만들고 나서 out 위에 generator 를 연다 (검증 실패 시 out 에는 아무것도 쓰지 않음)
+     */
+    public void writePage(Pageable pageable, JsonFactory factory, OutputStream out) throws IOException {
+        String sql = contentSql(pageable.getSort());
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            writePage(pageable, sql, generator);
+        }
+    }
+
+    public void writePage(Pageable pageable, JsonGenerator generator) throws IOException {
+        writePage(pageable, contentSql(pageable.getSort()), generator);
+    }
+
+    private void writePage(Pageable pageable, String sql, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+
+        generator.writeArrayFieldStart("content");
+        int numberOfElements = writeContent(pageable, sql, generator);
+        generator.writeEndArray();
+
+        long totalElements = totalElements(pageable, numberOfElements);
+        int totalPages = pageable.getPageSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / pageable.getPageSize());
+        // 페이지 번호가 아니라 offset 기준 (OffsetPageRequest 는 offset 이 size 로 나누어떨어지지 않을 수 있음)
+        boolean first = pageable.getOffset() == 0;
+        boolean last = pageable.getOffset() + pageable.getPageSize() >= totalElements;
+
+        generator.writeObjectFieldStart("pageable");
+        generator.writeNumberField("pageNumber", pageable.getPageNumber());
+        generator.writeNumberField("pageSize", pageable.getPageSize());
+        writeSort(pageable.getSort(), generator);
+        generator.writeNumberField("offset", pageable.getOffset());
+        generator.writeBooleanField("paged", true);
+        generator.writeBooleanField("unpaged", false);
+        generator.writeEndObject();
+
+        generator.writeBooleanField("last", last);
+        generator.writeNumberField("totalPages", totalPages);
+        generator.writeNumberField("totalElements", totalElements);
+        generator.writeNumberField("size", pageable.getPageSize());
+        generator.writeNumberField("number", pageable.getPageNumber());
+        writeSort(pageable.getSort(), generator);
+        generator.writeBooleanField("first", first);
+        generator.writeNumberField("numberOfElements", numberOfElements);
+        generator.writeBooleanField("empty", numberOfElements == 0);
+
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    private String contentSql(Sort sort) {
+        return "select m.member_id, m.username, t.name from member m" +
+                " left join team t on m.team_id = t.team_id" +
+                " where m.tenant_id = ? and m.deleted = false" +
+                " order by " + orderBy(sort) +
+                " limit ? offset ?";
+    }
+
+    private int writeContent(Pageable pageable, String sql, JsonGenerator generator) {
+        String tenantId = TenantContext.getTenantId();
+        int[] rows = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(Math.min(pageable.getPageSize(), FETCH_SIZE));
+            ps.setString(1, tenantId);
+            ps.setInt(2, pageable.getPageSize());
+            ps.setLong(3, pageable.getOffset());
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong(1));
+                generator.writeStringField("username", rs.getString(2));
+                generator.writeStringField("teamName", rs.getString(3));
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    // 마지막 페이지라서 전체 개수를 알 수 있으면 count 쿼리 생략 (PageableExecutionUtils 와 같은 규칙)
+    private long totalElements(Pageable pageable, int numberOfElements) {
+        if (pageable.getOffset() == 0 && numberOfElements < pageable.getPageSize()) {
+            return numberOfElements;
+        }
+        if (numberOfElements != 0 && numberOfElements < pageable.getPageSize()) {
+            return pageable.getOffset() + numberOfElements;
+        }
+        Long count = jdbcTemplate.queryForObject("select count(*) from member where tenant_id = ? and deleted = false",
+                Long.class, TenantContext.getTenantId());
+        return count == null ? 0 : count;
+    }
+
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "m.member_id";
+        }
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new UnsupportedSortException(order.getProperty());
+            }
+            joiner.add(column + (order.isAscending() ? " asc" : " desc"));
+        }
+        // 같은 값이 여러 개여도 페이지가 겹치지 않도록 PK 로 마무리
+        joiner.add("m.member_id");
+        return joiner.toString();
+    }
+
+    private void writeSort(Sort sort, JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("sort");
+        generator.writeBooleanField("empty", sort.isEmpty());
+        generator.writeBooleanField("sorted", sort.isSorted());
+        generator.writeBooleanField("unsorted", sort.isUnsorted());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * upsertByUsername 입력 한 건 (username 기준으로 있으면 수정, 없으면 추가)
+ */
+@Getter
+@ToString
+public class MemberUpsert {
+
+    private final String username;
+    private final int age;
+    private final Long teamId;
+
+    public MemberUpsert(String username, int age, Long teamId) {
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+    }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 벌크 삭제는 엔티티 이벤트가 발생하지 않으므로 삭제된 회원 id, 이름과 영향받은 팀을 따로 알린다
+ */
+@Getter
+public class MembersBulkDeletedEvent {
+
+    private final List<Long> memberIds;
+    private final List<String> usernames;
+    private final Collection<Long> teamIds;
+
+    public MembersBulkDeletedEvent(List<Long> memberIds, List<String> usernames, Collection<Long> teamIds) {
+        this.memberIds = memberIds;
+        this.usernames = usernames;
+        this.teamIds = teamIds;
+    }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * upsertByUsername 은 엔티티 이벤트 없이 MERGE 로 반영하므로 추가/수정된 회원(id -> 입력값)과 영향받은 팀을 따로 알린다
+ */
+@Getter
+public class MembersUpsertedEvent {
+
+    private final Map<Long, MemberUpsert> inserted;
+    private final Map<Long, MemberUpsert> updated;
+    private final Collection<Long> teamIds;
+
+    public MembersUpsertedEvent(Map<Long, MemberUpsert> inserted, Map<Long, MemberUpsert> updated, Collection<Long> teamIds) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.teamIds = teamIds;
+    }
+}
@@ -1,7 +1,50 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import study.datajpa.entity.Team;
+import study.datajpa.entity.TeamSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    @Query("select t.id from Team t where t.id > :lastId order by t.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 실제 회원 수와 다른 팀 요약만 갱신 (Team.memberCount 는 team_summary 에서 읽는다)
+    @Modifying(clearAutomatically = true)
+    @Query(value = "update team_summary s set member_count = (select count(*) from member m where m.team_id = s.team_id and m.deleted = false)" +
+            " where s.team_id in :ids and member_count <> (select count(*) from member m where m.team_id = s.team_id and m.deleted = false)",
+            nativeQuery = true)
+    int reconcileMemberCount(@Param("ids") Collection<Long> ids);
+
+    // 요약은 flush 시점에 갱신되므로 같은 트랜잭션의 미반영 변경은 보이지 않는다
+    @Query("select s from TeamSummary s where s.teamId = :teamId")
+    Optional<TeamSummary> findSummary(@Param("teamId") Long teamId);
+
+    @Query("select s from TeamSummary s where s.teamId in :teamIds")
+    List<TeamSummary> findSummaries(@Param("teamIds") Collection<Long> teamIds);
+
+    // 변경 피드 (MemberRepository.findChangedBetween 과 같은 키셋)
+    @Query("select t from Team t where t.lastModifiedDate >= :since and t.lastModifiedDate < :until" +
+            " and (t.lastModifiedDate > :since or t.id > :id) order by t.lastModifiedDate, t.id")
+    List<Team> findChangedBetween(@Param("since") LocalDateTime since, @Param("id") Long id,
+                                  @Param("until") LocalDateTime until, Limit limit);
+
+    default ChangeFeed<Team> findChangedSince(ChangeCursor cursor, int limit) {
+        return findChangedSince(cursor, limit, ChangeCursor.safeUntil());
+    }
+
+    default ChangeFeed<Team> findChangedSince(ChangeCursor cursor, int limit, LocalDateTime until) {
+        List<Team> rows = findChangedBetween(cursor.getLastModifiedDate(), cursor.getId(), until, Limit.of(limit));
+        return ChangeFeed.of(rows, limit, cursor, Team::getLastModifiedDate, Team::getId);
+    }
 }
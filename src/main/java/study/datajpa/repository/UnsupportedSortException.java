@@ -0,0 +1,11 @@
+package study.datajpa.repository;
+
+/**
+ * 정렬할 수 없는 속성으로 요청한 경우 (클라이언트 오류, 400)
+ */
+public class UnsupportedSortException extends IllegalArgumentException {
+
+    public UnsupportedSortException(String property) {
+        super("정렬할 수 없는 속성입니다: " + property);
+    }
+}
@@ -0,0 +1,18 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class UpsertResult {
+
+    private final int inserted;
+    // 값이 실제로 바뀐 행만 (같은 값이면 UPDATE 하지 않음)
+    private final int updated;
+
+    public UpsertResult(int inserted, int updated) {
+        this.inserted = inserted;
+        this.updated = updated;
+    }
+}
@@ -0,0 +1,34 @@
+package study.datajpa.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PK 범위 [start, end] (양 끝 포함). 테이블을 나눠서 병렬 처리할 때 사용
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class IdRange {
+
+    private final long start;
+    private final long end;
+
+    public static List<IdRange> split(long minId, long maxId, int partitions) {
+        List<IdRange> ranges = new ArrayList<>();
+        if (maxId < minId) {
+            return ranges;
+        }
+        long span = maxId - minId + 1;
+        long count = Math.max(1, Math.min(partitions, span));
+        long step = (span + count - 1) / count;
+        for (long start = minId; start <= maxId; start += step) {
+            ranges.add(new IdRange(start, Math.min(start + step - 1, maxId)));
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,105 @@
+package study.datajpa.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberCardinality;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 회원 + 팀 조회 전략을 예상 결과 건수와 팀당 회원 수(fan-out)로 고른다.
+ * <ul>
+ *     <li>JOIN_FETCH: 결과가 적으면 fetch join 한 번</li>
+ *     <li>BATCH_FETCH: 팀당 회원이 많으면 회원만 조회 후 팀을 IN 쿼리로 한 번씩만 조회</li>
+ *     <li>TWO_PHASE: 결과가 많고 팀도 많이 흩어져 있으면 id 만 먼저 조회 후 나눠서 fetch join</li>
+ * </ul>
+ * 어느 전략이든 결과는 id 순서. 선택 결과는 member.loader 메트릭(strategy 태그)으로 남는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberLoader {
+
+    public enum Strategy {JOIN_FETCH, BATCH_FETCH, TWO_PHASE}
+
+    static final long JOIN_FETCH_MAX_ROWS = 500;
+    static final double BATCH_FETCH_MIN_FAN_OUT = 20;
+    static final int CHUNK_SIZE = 1000;
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Transactional(readOnly = true)
+    public List<Member> findWithTeamByAge(int age) {
+        MemberCardinality cardinality = memberRepository.estimateByAge(age);
+        Strategy strategy = choose(cardinality.getMemberCount(), cardinality.getTeamCount());
+        log.debug("member loader age={}, rows={}, teams={} -> {}",
+                age, cardinality.getMemberCount(), cardinality.getTeamCount(), strategy);
+        return load(age, strategy);
+    }
+
+    public static Strategy choose(long rows, long teams) {
+        if (rows <= JOIN_FETCH_MAX_ROWS) {
+            return Strategy.JOIN_FETCH;
+        }
+        double fanOut = (double) rows / Math.max(1, teams);
+        return fanOut >= BATCH_FETCH_MIN_FAN_OUT ? Strategy.BATCH_FETCH : Strategy.TWO_PHASE;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Member> load(int age, Strategy strategy) {
+        meterRegistry.counter("member.loader.strategy", "strategy", strategy.name()).increment();
+        return meterRegistry.timer("member.loader", "strategy", strategy.name()).record(() -> switch (strategy) {
+            case JOIN_FETCH -> memberRepository.findWithTeamByAge(age);
+            case BATCH_FETCH -> batchFetch(age);
+            case TWO_PHASE -> twoPhase(age);
+        });
+    }
+
+    private List<Member> batchFetch(int age) {
+        List<Member> members = memberRepository.findListByAgeOrderById(age);
+        Set<Long> teamIds = new LinkedHashSet<>();
+        for (Member member : members) {
+            Team team = member.getTeam();
+            if (team != null) {
+                teamIds.add(team.getId()); // 프록시 id 조회는 초기화하지 않음
+            }
+        }
+        // 조회된 팀이 영속성 컨텍스트의 프록시를 초기화한다
+        for (List<Long> chunk : chunks(new ArrayList<>(teamIds))) {
+            teamRepository.findAllById(chunk);
+        }
+        return members;
+    }
+
+    private List<Member> twoPhase(int age) {
+        List<Long> ids = memberRepository.findIdsByAge(age);
+        List<Member> members = new ArrayList<>(ids.size());
+        for (List<Long> chunk : chunks(ids)) {
+            List<Member> hydrated = new ArrayList<>(memberRepository.findWithTeamByIds(chunk));
+            hydrated.sort(Comparator.comparing(Member::getId));
+            members.addAll(hydrated);
+        }
+        return members;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += CHUNK_SIZE) {
+            chunks.add(list.subList(i, Math.min(i + CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+}
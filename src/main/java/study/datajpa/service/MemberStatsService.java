@@ -0,0 +1,116 @@
+package study.datajpa.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import study.datajpa.dto.MemberStatsDto;
+import study.datajpa.support.TenantCache;
+import study.datajpa.support.TenantContext;
+import study.datajpa.support.TenantProperties;
+import study.datajpa.support.TenantRegistry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 회원 통계 (팀별 회원 수, 나이별 회원 수, 나이 구간 히스토그램).
+ * member_id 범위를 파티션으로 나눠 ForkJoinPool 에서 병렬로 집계하고 (파티션마다 별도 커넥션),
+ * 부분 집계를 합친 결과를 테넌트별로 ttl 동안 캐시한다 (TenantCache: 등록된 테넌트만, 오래 안 쓴 테넌트는 버림).
+ */
+@Slf4j
+@Service
+public class MemberStatsService {
+
+    private static final int AGE_BUCKET = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+    private final int partitions;
+    private final Duration ttl;
+
+    private final TenantCache<MemberStatsDto> cached;
+
+    public MemberStatsService(JdbcTemplate jdbcTemplate, TenantRegistry tenantRegistry, TenantProperties tenantProperties,
+                              @Value("${member.stats.parallelism:4}") int parallelism,
+                              @Value("${member.stats.ttl:30s}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cached = new TenantCache<>(tenantRegistry, tenantProperties.getCacheMaxTenants());
+        this.pool = new ForkJoinPool(parallelism);
+        this.partitions = parallelism;
+        this.ttl = ttl;
+    }
+
+    // 같은 테넌트의 동시 요청은 한 번만 집계 (테넌트별 락이라 다른 테넌트는 기다리지 않음)
+    public MemberStatsDto getStats() {
+        return cached.get(TenantContext.getTenantId(), this::isExpired, this::compute);
+    }
+
+    // 현재 테넌트의 캐시를 무시하고 다시 집계
+    public MemberStatsDto refresh() {
+        return cached.reload(TenantContext.getTenantId(), this::compute);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private boolean isExpired(MemberStatsDto stats) {
+        return stats.getComputedAt().plus(ttl).isBefore(LocalDateTime.now());
+    }
+
+    private MemberStatsDto compute(String tenantId) {
+        long start = System.nanoTime();
+        long[] minMax = jdbcTemplate.query("select min(member_id), max(member_id) from member where tenant_id = ? and deleted = false", rs -> {
+            rs.next();
+            return new long[]{rs.getLong(1), rs.wasNull() ? -1 : rs.getLong(2)};
+        }, tenantId);
+
+        PartialStats merged = new PartialStats();
+        if (minMax != null && minMax[1] >= 0) {
+            List<CompletableFuture<PartialStats>> futures = IdRange.split(minMax[0], minMax[1], partitions).stream()
+                    .map(range -> CompletableFuture.supplyAsync(() -> aggregate(tenantId, range), pool))
+                    .toList();
+            futures.forEach(future -> merged.merge(future.join()));
+        }
+
+        Map<Integer, Long> ageHistogram = new TreeMap<>();
+        merged.ageCounts.forEach((age, count) -> ageHistogram.merge(age / AGE_BUCKET * AGE_BUCKET, count, Long::sum));
+        long total = merged.ageCounts.values().stream().mapToLong(Long::longValue).sum();
+
+        log.info("member stats computed. tenant={}, total={}, partitions={}, elapsed={}ms",
+                tenantId, total, partitions, (System.nanoTime() - start) / 1_000_000);
+        return new MemberStatsDto(total, merged.teamCounts, new TreeMap<>(merged.ageCounts), ageHistogram, LocalDateTime.now());
+    }
+
+    private PartialStats aggregate(String tenantId, IdRange range) {
+        PartialStats partial = new PartialStats();
+        jdbcTemplate.query("select team_id, count(*) from member" +
+                        " where member_id between ? and ? and tenant_id = ? and deleted = false and team_id is not null group by team_id",
+                (RowCallbackHandler) rs -> partial.teamCounts.merge(rs.getLong(1), rs.getLong(2), Long::sum),
+                range.getStart(), range.getEnd(), tenantId);
+        jdbcTemplate.query("select age, count(*) from member where member_id between ? and ? and tenant_id = ? and deleted = false group by age",
+                (RowCallbackHandler) rs -> partial.ageCounts.merge(rs.getInt(1), rs.getLong(2), Long::sum),
+                range.getStart(), range.getEnd(), tenantId);
+        return partial;
+    }
+
+    private static class PartialStats {
+        private final Map<Long, Long> teamCounts = new HashMap<>();
+        private final Map<Integer, Long> ageCounts = new HashMap<>();
+
+        private void merge(PartialStats other) {
+            other.teamCounts.forEach((teamId, count) -> teamCounts.merge(teamId, count, Long::sum));
+            other.ageCounts.forEach((age, count) -> ageCounts.merge(age, count, Long::sum));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * findMemberByUsername 을 여러 번 부르는 대신 이름 조회를 모아서 IN 쿼리 한 번으로 처리한다 (DataLoader 방식).
+ * <pre>
+ * MemberUsernameResolver.Batch batch = resolver.newBatch();
+ * CompletableFuture&lt;Optional&lt;Member&gt;&gt; a = batch.load("member1");
+ * CompletableFuture&lt;Optional&lt;Member&gt;&gt; b = batch.load("member2");
+ * batch.dispatch(); // 여기서 쿼리 실행, a/b 완료
+ * </pre>
+ * dispatch 를 빠뜨려도 멈추지 않도록, 아직 실행 안 된 future 를 join / get 하면 그때 모아둔 조회를 한 번에 실행하고
+ * 트랜잭션 안에서 만든 배치는 커밋 직전에 남은 조회를 실행한다 (롤백되면 남은 future 는 취소).
+ * 엔티티를 돌려주므로 요청(트랜잭션) 안에서 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberUsernameResolver {
+
+    // IN 절 파라미터 개수 제한
+    static final int MAX_BATCH_SIZE = 500;
+
+    private final MemberRepository memberRepository;
+
+    public Batch newBatch() {
+        Batch batch = new Batch();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    batch.dispatch();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    batch.cancelPending();
+                }
+            });
+        }
+        return batch;
+    }
+
+    // 한 번에 여러 이름 조회. 없는 이름은 결과에 없음
+    public Map<String, Member> resolveAll(Collection<String> usernames) {
+        Batch batch = newBatch();
+        Map<String, CompletableFuture<Optional<Member>>> futures = new LinkedHashMap<>();
+        for (String username : usernames) {
+            futures.put(username, batch.load(username));
+        }
+        batch.dispatch();
+
+        Map<String, Member> result = new LinkedHashMap<>();
+        futures.forEach((username, future) -> future.join().ifPresent(member -> result.put(username, member)));
+        return result;
+    }
+
+    public class Batch {
+
+        private final Map<String, CompletableFuture<Optional<Member>>> pending = new LinkedHashMap<>();
+
+        // 같은 이름은 같은 future 를 돌려준다
+        public synchronized CompletableFuture<Optional<Member>> load(String username) {
+            return pending.computeIfAbsent(username, key -> new BatchFuture());
+        }
+
+        public synchronized void dispatch() {
+            List<String> usernames = new ArrayList<>(pending.keySet());
+            for (int i = 0; i < usernames.size(); i += MAX_BATCH_SIZE) {
+                List<String> chunk = usernames.subList(i, Math.min(i + MAX_BATCH_SIZE, usernames.size()));
+                try {
+                    complete(chunk, memberRepository.findByNames(chunk));
+                } catch (RuntimeException e) {
+                    chunk.forEach(username -> pending.get(username).completeExceptionally(e));
+                }
+            }
+            pending.clear();
+        }
+
+        synchronized void cancelPending() {
+            pending.values().forEach(future -> future.cancel(false));
+            pending.clear();
+        }
+
+        private void complete(List<String> chunk, List<Member> members) {
+            Map<String, List<Member>> byUsername = new HashMap<>();
+            for (Member member : members) {
+                byUsername.computeIfAbsent(member.getUsername(), key -> new ArrayList<>()).add(member);
+            }
+            for (String username : chunk) {
+                List<Member> found = byUsername.getOrDefault(username, List.of());
+                CompletableFuture<Optional<Member>> future = pending.get(username);
+                if (found.size() > 1) {
+                    // findMemberByUsername 과 같은 규칙: 단건 조회인데 여러 건이면 예외
+                    future.completeExceptionally(new IncorrectResultSizeDataAccessException(1, found.size()));
+                } else {
+                    future.complete(found.stream().findFirst());
+                }
+            }
+        }
+
+        // join / get 을 부르면 아직 실행 안 된 조회를 먼저 dispatch (thenApply 등으로 만든 future 는 해당 없음)
+        private class BatchFuture extends CompletableFuture<Optional<Member>> {
+
+            @Override
+            public Optional<Member> join() {
+                dispatchIfPending();
+                return super.join();
+            }
+
+            @Override
+            public Optional<Member> get() throws InterruptedException, ExecutionException {
+                dispatchIfPending();
+                return super.get();
+            }
+
+            @Override
+            public Optional<Member> get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+                dispatchIfPending();
+                return super.get(timeout, unit);
+            }
+
+            private void dispatchIfPending() {
+                if (!isDone()) {
+                    dispatch();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.List;
+
+/**
+ * 팀 회원 수(team_summary.member_count, Team.memberCount 가 읽는 값)가 실제 회원 수와 어긋난 경우(JDBC 적재 등) 바로잡는 작업.
+ * 팀 id 순서대로 batchSize 만큼씩 끊어서 배치마다 별도 트랜잭션으로 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamMemberCountReconciler {
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final TeamRepository teamRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    public int reconcile() {
+        return reconcile(DEFAULT_BATCH_SIZE);
+    }
+
+    public int reconcile(int batchSize) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int fixed = 0;
+        long lastId = 0L;
+        while (true) {
+            List<Long> ids = teamRepository.findIdsAfter(lastId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer updated = transactionTemplate.execute(status -> teamRepository.reconcileMemberCount(ids));
+            fixed += updated == null ? 0 : updated;
+            lastId = ids.get(ids.size() - 1);
+        }
+        log.info("team member count reconciled. fixed={}", fixed);
+        return fixed;
+    }
+}
@@ -0,0 +1,191 @@
+package study.datajpa.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Member / Team 의 insert, update, delete 를 flush 시점에 team_summary 에 증분 반영한다.
+ * 팀 회원 수는 여기서만 증감한다 (Team.memberCount 도 team_summary.member_count 를 읽음 -> 회원 변경마다 team UPDATE 가 따로 없음).
+ * flush 중에는 JPQL 을 실행할 수 없으므로 같은 커넥션에서 JDBC 로 직접 갱신 (같은 트랜잭션).
+ */
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class TeamSummaryEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Team team) {
+            execute(event.getSession(), "insert into team_summary (team_id, tenant_id, team_name, member_count, age_sum) values (?, ?, ?, 0, 0)",
+                    team.getId(), team.getTenantId(), team.getName());
+        } else if (event.getEntity() instanceof Member member && member.getTeam() != null) {
+            addMember(event.getSession(), member.getTeam().getId(), member);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        EventSource session = event.getSession();
+
+        if (event.getEntity() instanceof Team team) {
+            if (!Objects.equals(oldState[index(persister, "name")], team.getName())) {
+                execute(session, "update team_summary set team_name = ? where team_id = ?", team.getName(), team.getId());
+            }
+            return;
+        }
+        if (!(event.getEntity() instanceof Member member)) {
+            return;
+        }
+
+        Long oldTeamId = teamId(oldState[index(persister, "team")]);
+        Long newTeamId = teamId(member.getTeam());
+        int oldAge = (Integer) oldState[index(persister, "age")];
+
+        if (!Objects.equals(oldTeamId, newTeamId)) {
+            // Member.changeTeam: 이전 팀에서 빼고 새 팀에 더함
+            if (oldTeamId != null) {
+                removeMember(session, oldTeamId, oldAge);
+            }
+            if (newTeamId != null) {
+                execute(session, "update team_summary set member_count = member_count + 1, age_sum = age_sum + ? where team_id = ?",
+                        member.getAge(), newTeamId);
+                refreshNewest(session, newTeamId);
+            }
+            return;
+        }
+        if (newTeamId == null) {
+            return;
+        }
+        if (oldAge != member.getAge()) {
+            execute(session, "update team_summary set age_sum = age_sum + ? where team_id = ?",
+                    member.getAge() - oldAge, newTeamId);
+        }
+        if (!Objects.equals(oldState[index(persister, "username")], member.getUsername())) {
+            execute(session, "update team_summary set newest_member_username = ? where team_id = ? and newest_member_id = ?",
+                    member.getUsername(), newTeamId, member.getId());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Team team) {
+            execute(event.getSession(), "delete from team_summary where team_id = ?", team.getId());
+        } else if (event.getEntity() instanceof Member member && member.getTeam() != null) {
+            removeMember(event.getSession(), member.getTeam().getId(), member.getAge());
+        }
+    }
+
+    private void addMember(EventSource session, Long teamId, Member member) {
+        execute(session, "update team_summary set member_count = member_count + 1, age_sum = age_sum + ?," +
+                        " newest_member_id = ?, newest_member_username = ?, newest_member_created_date = ? where team_id = ?",
+                member.getAge(), member.getId(), member.getUsername(), toTimestamp(member), teamId);
+    }
+
+    private void removeMember(EventSource session, Long teamId, int age) {
+        execute(session, "update team_summary set member_count = member_count - 1, age_sum = age_sum - ? where team_id = ?",
+                age, teamId);
+        refreshNewest(session, teamId);
+    }
+
+    // 최신 회원 = 팀에서 member_id 가 가장 큰 회원
+    // 방금 실행한 회원 삭제 / 팀 변경 SQL 이 아직 JDBC 배치에 남아 있을 수 있어서 배치를 먼저 실행하고 조회한다
+    private void refreshNewest(EventSource session, Long teamId) {
+        session.getJdbcCoordinator().executeBatch();
+        session.doWork(connection -> {
+            Object[] newest = {null, null, null};
+            try (PreparedStatement ps = connection.prepareStatement("select member_id, username, created_date from member" +
+                    " where team_id = ? and deleted = false order by member_id desc limit 1")) {
+                ps.setLong(1, teamId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        newest[0] = rs.getLong(1);
+                        newest[1] = rs.getString(2);
+                        newest[2] = rs.getTimestamp(3);
+                    }
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement("update team_summary set newest_member_id = ?," +
+                    " newest_member_username = ?, newest_member_created_date = ? where team_id = ?")) {
+                bind(ps, newest[0], newest[1], newest[2], teamId);
+                ps.executeUpdate();
+            }
+        });
+    }
+
+    private static void execute(EventSource session, String sql, Object... args) {
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                bind(ps, args);
+                ps.executeUpdate();
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement ps, Object... args) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            ps.setObject(i + 1, args[i]);
+        }
+    }
+
+    private static Timestamp toTimestamp(Member member) {
+        return member.getCreatedDate() == null ? null : Timestamp.valueOf(member.getCreatedDate());
+    }
+
+    private static Long teamId(Object team) {
+        return team == null ? null : ((Team) team).getId();
+    }
+
+    private static int index(EntityPersister persister, String property) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (property.equals(names[i])) {
+                return i;
+            }
+        }
+        throw new IllegalStateException(property + " 속성이 없습니다: " + persister.getEntityName());
+    }
+}
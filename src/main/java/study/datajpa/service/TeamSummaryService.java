@@ -0,0 +1,55 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.repository.MembersBulkDeletedEvent;
+import study.datajpa.repository.MembersUpsertedEvent;
+
+import java.util.Collection;
+
+/**
+ * team_summary 를 원본(team, member)에서 다시 계산한다.
+ * 엔티티 이벤트를 거치지 않는 변경(벌크 삭제, JDBC 적재) 뒤에만 쓰고, 평소에는 TeamSummaryEventListener 가 증분 갱신한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamSummaryService {
+
+    private static final String INSERT_SUMMARY = "insert into team_summary (team_id, tenant_id, team_name, member_count, age_sum," +
+            " newest_member_id, newest_member_username, newest_member_created_date)" +
+            " select t.team_id, t.tenant_id, t.name, count(m.member_id), coalesce(sum(m.age), 0), n.member_id, n.username, n.created_date" +
+            " from team t" +
+            " left join member m on m.team_id = t.team_id and m.deleted = false" +
+            " left join member n on n.member_id = (select max(x.member_id) from member x where x.team_id = t.team_id and x.deleted = false)";
+    private static final String GROUP_BY = " group by t.team_id, t.tenant_id, t.name, n.member_id, n.username, n.created_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void rebuildAll() {
+        jdbcTemplate.update("delete from team_summary");
+        jdbcTemplate.update(INSERT_SUMMARY + GROUP_BY);
+    }
+
+    @Transactional
+    public void rebuild(Collection<Long> teamIds) {
+        for (Long teamId : teamIds) {
+            jdbcTemplate.update("delete from team_summary where team_id = ?", teamId);
+            jdbcTemplate.update(INSERT_SUMMARY + " where t.team_id = ?" + GROUP_BY, teamId);
+        }
+    }
+
+    // 벌크 삭제 / upsert 와 같은 트랜잭션에서 바로 반영
+    @EventListener
+    public void onBulkDeleted(MembersBulkDeletedEvent event) {
+        rebuild(event.getTeamIds());
+    }
+
+    @EventListener
+    public void onUpserted(MembersUpsertedEvent event) {
+        rebuild(event.getTeamIds());
+    }
+}
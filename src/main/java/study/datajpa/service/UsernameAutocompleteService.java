@@ -0,0 +1,108 @@
+package study.datajpa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MembersBulkDeletedEvent;
+import study.datajpa.repository.MembersUpsertedEvent;
+import study.datajpa.repository.MemberUpsert;
+import study.datajpa.support.TenantCache;
+import study.datajpa.support.TenantContext;
+import study.datajpa.support.TenantProperties;
+import study.datajpa.support.TenantRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 회원 이름 자동완성. 테넌트마다 UsernameIndex 를 따로 두고 (다른 테넌트의 이름은 제안하지 않음, 등록된 테넌트만),
+ * 기본 테넌트는 기동 후, 나머지는 처음 조회할 때 이름을 스트림으로 읽어 채운다.
+ * 이후 변경은 UsernameIndexEventListener 가 커밋 후에 반영한다.
+ */
+@Slf4j
+@Service
+public class UsernameAutocompleteService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final MemberRepository memberRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final TenantRegistry tenantRegistry;
+    private final TenantCache<UsernameIndex> indexes;
+
+    public UsernameAutocompleteService(MemberRepository memberRepository, PlatformTransactionManager transactionManager,
+                                       TenantRegistry tenantRegistry, TenantProperties tenantProperties) {
+        this.memberRepository = memberRepository;
+        this.transactionManager = transactionManager;
+        this.tenantRegistry = tenantRegistry;
+        this.indexes = new TenantCache<>(tenantRegistry, tenantProperties.getCacheMaxTenants());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (tenantRegistry.isKnown(TenantContext.DEFAULT)) {
+            rebuild();
+        }
+    }
+
+    // 현재 테넌트의 인덱스를 다시 적재
+    public void rebuild() {
+        indexes.reload(TenantContext.getTenantId(), this::load);
+    }
+
+    // 스트림 조회가 세션의 테넌트로 걸러지므로 현재 테넌트 안에서 호출해야 한다
+    private UsernameIndex load(String tenantId) {
+        long start = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        List<String> usernames = transactionTemplate.execute(status -> {
+            try (Stream<String> stream = memberRepository.streamUsernames()) {
+                List<String> loaded = new ArrayList<>();
+                stream.forEach(loaded::add);
+                return loaded;
+            }
+        });
+        UsernameIndex index = new UsernameIndex();
+        index.load(usernames == null ? List.of() : usernames);
+        log.info("username index loaded. tenant={}, size={}, elapsed={}ms",
+                tenantId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty()) {
+            return List.of();
+        }
+        return indexes.get(TenantContext.getTenantId(), this::load)
+                .prefixMatches(prefix, Math.max(1, Math.min(limit, MAX_LIMIT))); // size 파라미터를 [1, MAX_LIMIT] 로
+    }
+
+    // 벌크 작업은 현재 테넌트 범위
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkDeleted(MembersBulkDeletedEvent event) {
+        event.getUsernames().forEach(username -> removed(TenantContext.getTenantId(), username));
+    }
+
+    // upsert 는 username 을 바꾸지 않으므로 새로 추가된 이름만 반영
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUpserted(MembersUpsertedEvent event) {
+        event.getInserted().values().stream()
+                .map(MemberUpsert::getUsername)
+                .forEach(username -> added(TenantContext.getTenantId(), username));
+    }
+
+    // 적재 중에 커밋된 변경은 TenantCache 가 모아 두었다가 새 인덱스에 적용한다
+    void added(String tenantId, String username) {
+        indexes.update(tenantId, index -> index.add(username));
+    }
+
+    void removed(String tenantId, String username) {
+        indexes.update(tenantId, index -> index.remove(username));
+    }
+}
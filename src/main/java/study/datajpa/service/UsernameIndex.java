@@ -0,0 +1,73 @@
+package study.datajpa.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 회원 이름 접두사 검색용 정렬 인덱스 (이름 -> 같은 이름의 회원 수).
+ * 스킵 리스트라 추가/삭제가 O(log n) 이고 락 없이 읽는다 (정렬 배열처럼 삽입마다 배열을 밀지 않음).
+ * 접두사 검색은 접두사 이상인 첫 키부터 연속 구간 순회라서 k 개를 찾는 데 마이크로초 단위.
+ */
+public class UsernameIndex {
+
+    private volatile ConcurrentNavigableMap<String, Integer> counts = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public void load(Collection<String> usernames) {
+        ConcurrentNavigableMap<String, Integer> loaded = new ConcurrentSkipListMap<>();
+        int total = 0;
+        for (String username : usernames) {
+            if (username != null) {
+                loaded.merge(username, 1, Integer::sum);
+                total++;
+            }
+        }
+        counts = loaded;
+        size.set(total);
+    }
+
+    public void add(String username) {
+        if (username == null) {
+            return;
+        }
+        counts.merge(username, 1, Integer::sum);
+        size.incrementAndGet();
+    }
+
+    public void remove(String username) {
+        if (username == null) {
+            return;
+        }
+        boolean[] removed = {false};
+        counts.computeIfPresent(username, (name, count) -> {
+            removed[0] = true;
+            return count == 1 ? null : count - 1;
+        });
+        if (removed[0]) {
+            size.decrementAndGet();
+        }
+    }
+
+    // 접두사로 시작하는 이름을 사전순으로 최대 limit 개 (중복 제거)
+    public List<String> prefixMatches(String prefix, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        for (String name : counts.tailMap(prefix).keySet()) {
+            if (!name.startsWith(prefix) || result.size() == limit) {
+                break;
+            }
+            result.add(name);
+        }
+        return result;
+    }
+
+    public int size() {
+        return size.get();
+    }
+}
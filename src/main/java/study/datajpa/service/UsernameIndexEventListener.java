@@ -0,0 +1,99 @@
+package study.datajpa.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+
+import java.util.Objects;
+
+/**
+ * Member 추가/수정/삭제를 커밋 후에 이름 인덱스에 반영한다 (롤백된 변경은 반영되지 않음).
+ * 수정 전 이름이 필요해서 JPA 콜백 대신 하이버네이트 이벤트(이전 상태 포함)를 사용.
+ */
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class UsernameIndexEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final String USERNAME = "username";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final UsernameAutocompleteService autocompleteService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Member.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            autocompleteService.added(member.getTenantId(), member.getUsername());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member member) || event.getOldState() == null) {
+            return;
+        }
+        String before = (String) event.getOldState()[usernameIndex(event.getPersister())];
+        if (!Objects.equals(before, member.getUsername())) {
+            autocompleteService.removed(member.getTenantId(), before);
+            autocompleteService.added(member.getTenantId(), member.getUsername());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            autocompleteService.removed(member.getTenantId(), member.getUsername());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private static int usernameIndex(EntityPersister persister) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (USERNAME.equals(names[i])) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("username 속성이 없습니다: " + persister.getEntityName());
+    }
+}
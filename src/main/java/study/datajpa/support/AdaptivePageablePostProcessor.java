@@ -0,0 +1,45 @@
+package study.datajpa.support;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스프링 MVC 가 쓰는 Pageable 인자 리졸버를 AdaptivePageableResolver 로 감싼다.
+ * 기본 리졸버(application.yml 의 spring.data.web.pageable, @PageableDefault)는 그대로 먼저 적용된다.
+ */
+@Component
+public class AdaptivePageablePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<PageCostTracker> tracker;
+    private final ObjectProvider<PageBudgetProperties> properties;
+    private final ObjectProvider<SpringDataWebProperties> webProperties;
+
+    public AdaptivePageablePostProcessor(ObjectProvider<PageCostTracker> tracker,
+                                         ObjectProvider<PageBudgetProperties> properties,
+                                         ObjectProvider<SpringDataWebProperties> webProperties) {
+        this.tracker = tracker;
+        this.properties = properties;
+        this.webProperties = webProperties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RequestMappingHandlerAdapter adapter && adapter.getArgumentResolvers() != null
+                && properties.getObject().isEnabled()) {
+            List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>(adapter.getArgumentResolvers());
+            resolvers.replaceAll(resolver -> resolver instanceof PageableHandlerMethodArgumentResolver
+                    ? new AdaptivePageableResolver(resolver, tracker.getObject(), properties.getObject(), webProperties.getObject())
+                    : resolver);
+            adapter.setArgumentResolvers(resolvers);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,113 @@
+package study.datajpa.support;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.time.Duration;
+
+/**
+ * 기본 PageableHandlerMethodArgumentResolver 를 감싸서, 요청한 page size 가 엔드포인트 예산을 넘을 것 같으면 줄인다.
+ * 줄인 페이지는 요청한 위치(offset)에서 허용 크기만큼 읽는다 (OffsetPageRequest, 최소 크기 아래로 줄지 않음).
+ * 이어서 받을 위치를 Link rel="next" 에 offset / size 로, 원래 요청 크기를 X-Page-Clamped 로 알려준다.
+ * page 대신 offset 파라미터로 요청하면 그 위치부터 읽는다.
+ * 실제 걸린 시간은 PageCostFilter 가 요청이 끝난 뒤 PageCostTracker 에 기록한다.
+ */
+public class AdaptivePageableResolver implements HandlerMethodArgumentResolver {
+
+    public static final String CLAMPED_HEADER = "X-Page-Clamped";
+    public static final String OFFSET_PARAMETER = "offset";
+
+    static final String ENDPOINT_ATTRIBUTE = AdaptivePageableResolver.class.getName() + ".endpoint";
+    static final String PAGE_SIZE_ATTRIBUTE = AdaptivePageableResolver.class.getName() + ".pageSize";
+    static final String START_ATTRIBUTE = AdaptivePageableResolver.class.getName() + ".start";
+
+    private final HandlerMethodArgumentResolver delegate;
+    private final PageCostTracker tracker;
+    private final PageBudgetProperties properties;
+    private final SpringDataWebProperties.Pageable pageableProperties;
+
+    public AdaptivePageableResolver(HandlerMethodArgumentResolver delegate, PageCostTracker tracker,
+                                    PageBudgetProperties properties, SpringDataWebProperties webProperties) {
+        this.delegate = delegate;
+        this.tracker = tracker;
+        this.properties = properties;
+        this.pageableProperties = webProperties.getPageable();
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return delegate.supportsParameter(parameter);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        Pageable resolved = (Pageable) delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (resolved == null || resolved.isUnpaged() || request == null) {
+            return resolved;
+        }
+        Pageable requested = withOffset(resolved, request);
+
+        String endpoint = parameter.getContainingClass().getSimpleName() + "." + parameter.getMethod().getName();
+        int allowed = tracker.allowedSize(endpoint, budget(parameter), requested.getPageSize());
+        Pageable effective = allowed < requested.getPageSize()
+                ? new OffsetPageRequest(requested.getOffset(), allowed, requested.getSort())
+                : requested;
+        if (effective != requested) {
+            tracker.clamped(endpoint, requested.getPageSize(), effective.getPageSize());
+            HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(CLAMPED_HEADER, String.valueOf(requested.getPageSize()));
+                response.setHeader(HttpHeaders.LINK, "<" + nextUri(request, effective) + ">; rel=\"next\"");
+            }
+        }
+
+        request.setAttribute(ENDPOINT_ATTRIBUTE, endpoint);
+        request.setAttribute(PAGE_SIZE_ATTRIBUTE, effective.getPageSize());
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return effective;
+    }
+
+    private Duration budget(MethodParameter parameter) {
+        PageBudget budget = parameter.getMethodAnnotation(PageBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(parameter.getContainingClass(), PageBudget.class);
+        }
+        return budget == null ? properties.getDefaultBudget() : Duration.ofMillis(budget.millis());
+    }
+
+    // offset 파라미터가 있으면 page 대신 그 위치부터 (잘못된 값은 기본 resolver 처럼 무시)
+    private Pageable withOffset(Pageable resolved, HttpServletRequest request) {
+        String value = request.getParameter(pageableProperties.getPrefix() + OFFSET_PARAMETER);
+        if (value == null) {
+            return resolved;
+        }
+        try {
+            long offset = Long.parseLong(value);
+            return offset < 0 ? resolved : new OffsetPageRequest(offset, resolved.getPageSize(), resolved.getSort());
+        } catch (NumberFormatException e) {
+            return resolved;
+        }
+    }
+
+    private String nextUri(HttpServletRequest request, Pageable effective) {
+        String prefix = pageableProperties.getPrefix();
+        return ServletUriComponentsBuilder.fromRequest(request)
+                .replaceQueryParam(prefix + pageableProperties.getPageParameter())
+                .replaceQueryParam(prefix + OFFSET_PARAMETER, effective.getOffset() + effective.getPageSize())
+                .replaceQueryParam(prefix + pageableProperties.getSizeParameter(), effective.getPageSize())
+                .build()
+                .toUriString();
+    }
+}
@@ -0,0 +1,31 @@
+package study.datajpa.support;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import study.datajpa.repository.ChangeCursor;
+
+import java.time.Duration;
+
+// 리포지토리 default 메서드(findChangedSince)에서 읽도록 기동 시 ChangeCursor 에 넘긴다
+@Getter
+@Setter
+@Lazy(false)
+@Component
+@ConfigurationProperties(prefix = "datajpa.change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * 변경 피드가 현재 시각보다 이만큼 늦게까지만 내준다. 이 JVM 의 트랜잭션은 진행 중 목록으로 따로 막으므로
+     * 다른 노드에서 가장 오래 걸리는 쓰기 트랜잭션 + 노드 간 시계 차이보다 길게 잡는다
+     */
+    private Duration commitLag = ChangeCursor.DEFAULT_COMMIT_LAG;
+
+    @PostConstruct
+    public void apply() {
+        ChangeCursor.setCommitLag(commitLag);
+    }
+}
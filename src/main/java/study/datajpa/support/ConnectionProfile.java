@@ -0,0 +1,61 @@
+package study.datajpa.support;
+
+import lombok.Getter;
+
+/**
+ * 요청 하나 동안의 JDBC 사용량: 커넥션을 잡고 있던 시간, 풀에서 기다린 시간, 실제 SQL 실행 시간.
+ * ConnectionProfilingFilter 가 요청마다 시작하고 ConnectionProfilingListener 가 채운다 (요청 스레드에서만).
+ */
+@Getter
+public class ConnectionProfile {
+
+    private static final ThreadLocal<ConnectionProfile> CURRENT = new ThreadLocal<>();
+
+    private long holdNanos;
+    private long waitNanos;
+    private long queryNanos;
+    private int connections;
+    private int statements;
+
+    private int openConnections;
+    private long openedAt;
+
+    static ConnectionProfile start() {
+        ConnectionProfile profile = new ConnectionProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static ConnectionProfile current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // 커넥션을 여러 개 겹쳐 잡아도 "하나라도 잡고 있던 시간" 으로 센다
+    void connectionAcquired(long waitNanos) {
+        this.waitNanos += waitNanos;
+        connections++;
+        if (openConnections++ == 0) {
+            openedAt = System.nanoTime();
+        }
+    }
+
+    void connectionReleased() {
+        if (openConnections > 0 && --openConnections == 0) {
+            holdNanos += System.nanoTime() - openedAt;
+        }
+    }
+
+    void statementExecuted(long nanos) {
+        queryNanos += nanos;
+        statements++;
+    }
+
+    // 요청이 끝났는데 아직 반환되지 않은 커넥션은 지금까지를 잡고 있던 시간으로 본다
+    long totalHoldNanos() {
+        return openConnections > 0 ? holdNanos + System.nanoTime() - openedAt : holdNanos;
+    }
+}
@@ -0,0 +1,64 @@
+package study.datajpa.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔드포인트별 커넥션 점유 시간 vs 실제 쿼리 시간.
+ * OSIV 가 켜져 있으면 커넥션이 JSON 직렬화까지 요청 끝까지 잡혀 있어서 두 값의 차이가 커진다 (no-osiv 프로필과 비교).
+ * /actuator/metrics/http.server.db.connection.hold?tag=uri:/members/dto
+ */
+@Component
+@ConditionalOnProperty(prefix = "datajpa.connection-profiling", name = "enabled", havingValue = "true")
+public class ConnectionProfilingFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    public ConnectionProfilingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ConnectionProfile profile = ConnectionProfile.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ConnectionProfile.end();
+            if (profile.getConnections() > 0) {
+                record(uri(request), profile);
+            }
+        }
+    }
+
+    private void record(String uri, ConnectionProfile profile) {
+        timer("http.server.db.connection.hold", uri).record(profile.totalHoldNanos(), TimeUnit.NANOSECONDS);
+        timer("http.server.db.connection.wait", uri).record(profile.getWaitNanos(), TimeUnit.NANOSECONDS);
+        timer("http.server.db.query", uri).record(profile.getQueryNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String uri) {
+        return Timer.builder(name)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNKNOWN : pattern.toString();
+    }
+}
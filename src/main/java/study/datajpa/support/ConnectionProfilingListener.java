@@ -0,0 +1,41 @@
+package study.datajpa.support;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 커넥션 / SQL 이벤트를 현재 요청의 ConnectionProfile 에 누적
+ */
+@Component
+@ConditionalOnProperty(prefix = "datajpa.connection-profiling", name = "enabled", havingValue = "true")
+public class ConnectionProfilingListener extends SimpleJdbcEventListener {
+
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        ConnectionProfile profile = ConnectionProfile.current();
+        if (profile != null && e == null) {
+            profile.connectionAcquired(connectionInformation.getTimeToGetConnectionNs());
+        }
+    }
+
+    @Override
+    public void onAfterConnectionClose(ConnectionInformation connectionInformation, SQLException e) {
+        ConnectionProfile profile = ConnectionProfile.current();
+        if (profile != null) {
+            profile.connectionReleased();
+        }
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        ConnectionProfile profile = ConnectionProfile.current();
+        if (profile != null) {
+            profile.statementExecuted(timeElapsedNanos);
+        }
+    }
+}
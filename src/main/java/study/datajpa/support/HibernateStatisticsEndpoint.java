@@ -0,0 +1,99 @@
+package study.datajpa.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/hibernate: 하이버네이트 세션 / 쿼리 통계. 읽기 전용이고 hibernate.generate_statistics 를 켰을 때만 등록된다.
+ * 웹 노출(management.endpoints.web.exposure.include)도 따로 켜야 한다. 초기화는 JMX 전용 HibernateStatisticsResetEndpoint
+ */
+@Component
+@Endpoint(id = "hibernate")
+@ConditionalOnProperty(name = HibernateStatisticsEndpoint.STATISTICS_PROPERTY, havingValue = "true")
+public class HibernateStatisticsEndpoint {
+
+    static final String STATISTICS_PROPERTY = "spring.jpa.properties.hibernate.generate_statistics";
+
+    private static final int TOP_QUERIES = 20;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Statistics statistics = hibernateStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("opened", statistics.getSessionOpenCount());
+        session.put("closed", statistics.getSessionCloseCount());
+        session.put("transactions", statistics.getTransactionCount());
+        session.put("flushes", statistics.getFlushCount());
+        session.put("connections", statistics.getConnectCount());
+        session.put("preparedStatements", statistics.getPrepareStatementCount());
+        session.put("entityLoads", statistics.getEntityLoadCount());
+        session.put("entityFetches", statistics.getEntityFetchCount());
+        session.put("entityInserts", statistics.getEntityInsertCount());
+        session.put("entityUpdates", statistics.getEntityUpdateCount());
+        session.put("entityDeletes", statistics.getEntityDeleteCount());
+        session.put("collectionLoads", statistics.getCollectionLoadCount());
+        session.put("collectionFetches", statistics.getCollectionFetchCount());
+        session.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        session.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("session", session);
+
+        Map<String, Object> queries = new LinkedHashMap<>();
+        queries.put("executions", statistics.getQueryExecutionCount());
+        queries.put("maxTimeMs", statistics.getQueryExecutionMaxTime());
+        queries.put("slowest", statistics.getQueryExecutionMaxTimeQueryString());
+        queries.put("planCacheHits", statistics.getQueryPlanCacheHitCount());
+        queries.put("planCacheMisses", statistics.getQueryPlanCacheMissCount());
+        queries.put("top", topQueries(statistics));
+        result.put("queries", queries);
+        return result;
+    }
+
+    // 총 실행 시간이 큰 순서
+    private static List<Map<String, Object>> topQueries(Statistics statistics) {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong((Map.Entry<String, QueryStatistics> entry) ->
+                        entry.getValue().getExecutionTotalTime()).reversed())
+                .limit(TOP_QUERIES)
+                .map(entry -> {
+                    QueryStatistics query = entry.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("query", entry.getKey());
+                    row.put("executions", query.getExecutionCount());
+                    row.put("rows", query.getExecutionRowCount());
+                    row.put("avgTimeMs", query.getExecutionAvgTime());
+                    row.put("maxTimeMs", query.getExecutionMaxTime());
+                    row.put("totalTimeMs", query.getExecutionTotalTime());
+                    return row;
+                })
+                .toList();
+    }
+
+    private Statistics hibernateStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
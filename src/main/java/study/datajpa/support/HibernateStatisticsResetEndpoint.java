@@ -0,0 +1,29 @@
+package study.datajpa.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 하이버네이트 통계 초기화. 인증 없는 HTTP 로 열리지 않도록 JMX 로만 노출한다
+ * (spring.jmx.enabled 와 JMX 접근 제어는 운영 환경에서 설정)
+ */
+@Component
+@JmxEndpoint(id = "hibernatereset")
+@ConditionalOnProperty(name = HibernateStatisticsEndpoint.STATISTICS_PROPERTY, havingValue = "true")
+public class HibernateStatisticsResetEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateStatisticsResetEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+}
@@ -0,0 +1,77 @@
+package study.datajpa.support;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+
+/**
+ * 페이지 번호 대신 정확한 offset 에서 size 만큼 읽는 Pageable.
+ * PageRequest 는 offset = page * size 라서 offset 이 size 로 나누어떨어지지 않으면 표현할 수 없다.
+ * getPageNumber() 는 offset / size (내림) 이고, 다음 페이지는 offset + size 부터.
+ */
+@EqualsAndHashCode
+@ToString
+public class OffsetPageRequest implements Pageable, Serializable {
+
+    private final long offset;
+    private final int size;
+    private final Sort sort;
+
+    public OffsetPageRequest(long offset, int size, Sort sort) {
+        Assert.isTrue(offset >= 0, "offset 은 0 이상이어야 합니다");
+        Assert.isTrue(size >= 1, "size 는 1 이상이어야 합니다");
+        Assert.notNull(sort, "sort 는 null 일 수 없습니다");
+        this.offset = offset;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(0, offset - size), size, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
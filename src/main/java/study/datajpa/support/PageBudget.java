@@ -0,0 +1,20 @@
+package study.datajpa.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pageable 을 받는 엔드포인트의 응답 시간 예산.
+ * 관측한 행당 비용으로 이 시간을 넘길 page size 요청은 AdaptivePageableResolver 가 줄인다.
+ * 없으면 datajpa.pageable-budget.default-budget
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface PageBudget {
+
+    long millis();
+}
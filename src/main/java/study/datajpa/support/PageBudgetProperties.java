@@ -0,0 +1,35 @@
+package study.datajpa.support;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datajpa.pageable-budget")
+public class PageBudgetProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * @PageBudget 이 없는 엔드포인트의 예산
+     */
+    private Duration defaultBudget = Duration.ofMillis(300);
+
+    /**
+     * 예산을 넘겨도 이 크기 밑으로는 줄이지 않는다
+     */
+    private int minPageSize = 20;
+
+    /**
+     * 고정 비용 + 행당 비용 모델(지수 가중 최소제곱)에서 새 측정값의 비중 (0 ~ 1)
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * 이만큼 측정하기 전에는 줄이지 않는다
+     */
+    private int warmupRequests = 5;
+}
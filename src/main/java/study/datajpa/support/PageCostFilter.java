@@ -0,0 +1,44 @@
+package study.datajpa.support;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * AdaptivePageableResolver 가 처리한 요청이 끝나면 (응답을 다 쓴 뒤) 걸린 시간과 행 수를 PageCostTracker 에 기록한다.
+ * 행 수는 Slice / Page 응답이면 실제 건수(PageRowsAdvice), 직접 쓰는 응답이면 page size.
+ */
+@Component
+public class PageCostFilter extends OncePerRequestFilter {
+
+    static final String ROWS_ATTRIBUTE = PageCostFilter.class.getName() + ".rows";
+
+    private final PageCostTracker tracker;
+
+    public PageCostFilter(PageCostTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+
+        Object endpoint = request.getAttribute(AdaptivePageableResolver.ENDPOINT_ATTRIBUTE);
+        Object start = request.getAttribute(AdaptivePageableResolver.START_ATTRIBUTE);
+        // 실패한 요청은 행당 비용을 왜곡하므로 빼고
+        if (endpoint == null || start == null || response.getStatus() >= 400) {
+            return;
+        }
+        Object rows = request.getAttribute(ROWS_ATTRIBUTE);
+        if (rows == null) {
+            rows = request.getAttribute(AdaptivePageableResolver.PAGE_SIZE_ATTRIBUTE);
+        }
+        tracker.record((String) endpoint, System.nanoTime() - (Long) start, (Integer) rows);
+    }
+}
@@ -0,0 +1,109 @@
+package study.datajpa.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 엔드포인트별 요청 시간 모델: 고정 비용 + 행당 비용 * 행 수 (지수 가중 최소제곱).
+ * 요청 시간을 행 수로 나누기만 하면 고정 비용까지 행당 비용에 들어가서, 작은 페이지일수록 행당 비용이 커 보이고
+ * 줄인 크기가 다시 더 줄어든다. 고정 비용을 따로 두면 엔드포인트가 빨라졌을 때 크기가 다시 커진다.
+ * AdaptivePageableResolver 가 예산 안에 들어가는 page size 를 구할 때 사용하고, 줄인 요청은 메트릭으로 남긴다.
+ * /actuator/metrics/pageable.clamped?tag=endpoint:MemberController.list
+ */
+@Component
+public class PageCostTracker {
+
+    private final PageBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RowCost> costs = new ConcurrentHashMap<>();
+
+    public PageCostTracker(PageBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // 예산 안에서 허용되는 page size. 아직 측정이 부족하면 요청 그대로
+    public int allowedSize(String endpoint, Duration budget, int requestedSize) {
+        RowCost cost = costs.get(endpoint);
+        if (cost == null || cost.samples < properties.getWarmupRequests() || cost.nanosPerRow <= 0) {
+            return requestedSize;
+        }
+        long allowed = (long) ((budget.toNanos() - cost.fixedNanos) / cost.nanosPerRow);
+        return (int) Math.min(requestedSize, Math.max(Math.max(1, properties.getMinPageSize()), allowed));
+    }
+
+    public void record(String endpoint, long elapsedNanos, int rows) {
+        if (rows <= 0) {
+            return;
+        }
+        costs.computeIfAbsent(endpoint, key -> new RowCost())
+                .update(rows, elapsedNanos, properties.getSmoothing());
+    }
+
+    public double nanosPerRow(String endpoint) {
+        RowCost cost = costs.get(endpoint);
+        return cost == null ? 0 : cost.nanosPerRow;
+    }
+
+    public double fixedNanos(String endpoint) {
+        RowCost cost = costs.get(endpoint);
+        return cost == null ? 0 : cost.fixedNanos;
+    }
+
+    void clamped(String endpoint, int requestedSize, int effectiveSize) {
+        Counter.builder("pageable.clamped")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .increment();
+        DistributionSummary.builder("pageable.clamped.rows")
+                .description("요청보다 줄인 행 수")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(requestedSize - effectiveSize);
+    }
+
+    private static class RowCost {
+
+        // 행 수의 분산이 평균의 10% (표준편차 기준)보다 작으면 고정 비용과 행당 비용을 나눌 수 없다
+        private static final double MIN_RELATIVE_SPREAD = 0.1;
+
+        private volatile double nanosPerRow;
+        private volatile double fixedNanos;
+        private volatile int samples;
+
+        // 지수 가중 합 (오래된 측정일수록 (1 - smoothing) 배씩 줄어듦)
+        private double weight;
+        private double sumRows;
+        private double sumNanos;
+        private double sumRowsSquared;
+        private double sumRowsNanos;
+
+        private synchronized void update(int rows, long elapsedNanos, double smoothing) {
+            double decay = samples == 0 ? 0 : 1 - smoothing;
+            weight = weight * decay + 1;
+            sumRows = sumRows * decay + rows;
+            sumNanos = sumNanos * decay + elapsedNanos;
+            sumRowsSquared = sumRowsSquared * decay + (double) rows * rows;
+            sumRowsNanos = sumRowsNanos * decay + (double) rows * elapsedNanos;
+
+            double meanRows = sumRows / weight;
+            double meanNanos = sumNanos / weight;
+            double variance = sumRowsSquared / weight - meanRows * meanRows;
+            // 페이지 크기가 고르게 섞여 있을 때만 고정 비용(절편)을 새로 구하고, 같은 크기만 들어오면 이전 값을 유지
+            if (variance > Math.pow(MIN_RELATIVE_SPREAD * meanRows, 2)) {
+                double slope = (sumRowsNanos / weight - meanRows * meanNanos) / variance;
+                fixedNanos = Math.min(Math.max(0, meanNanos - slope * meanRows), meanNanos);
+            }
+            nanosPerRow = Math.max(0, (meanNanos - fixedNanos) / meanRows);
+            if (samples < Integer.MAX_VALUE) {
+                samples++;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package study.datajpa.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 한 트랜잭션에서 영속성 컨텍스트가 한없이 커지는 것을 막는다.
+ * 관리 중인 엔티티 수가 한도를 넘으면 모드에 따라 경고하거나 flush + clear 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PersistenceContextGuard {
+
+    private static final Object WARNED_KEY = PersistenceContextGuard.class.getName() + ".WARNED";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final PersistenceContextProperties properties;
+
+    public void afterRead() {
+        check(false);
+    }
+
+    public void afterWrite() {
+        check(true);
+    }
+
+    private void check(boolean write) {
+        if (properties.getMode() == PersistenceContextProperties.Mode.NONE
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        int managed = em.unwrap(Session.class).getStatistics().getEntityCount();
+        SessionStatistics.recordManagedEntities(managed);
+        int max = properties.getMaxManagedEntities();
+        if (managed < max) {
+            return;
+        }
+
+        // 조회 직후 clear 하면 방금 돌려준 엔티티가 준영속이 되므로 flush + clear 는 쓰기 후에만
+        if (write && properties.getMode() == PersistenceContextProperties.Mode.FLUSH_CLEAR) {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                em.flush();
+            }
+            em.clear();
+            log.debug("persistence context cleared. managedEntities={}, max={}", managed, max);
+            return;
+        }
+        warnOncePerLevel(managed, max);
+    }
+
+    // 한도의 배수를 넘을 때마다 한 번씩만 경고
+    private void warnOncePerLevel(int managed, int max) {
+        int level = managed / max;
+        Integer warned = (Integer) TransactionSynchronizationManager.getResource(WARNED_KEY);
+        if (warned != null && warned >= level) {
+            return;
+        }
+        if (warned == null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WARNED_KEY);
+                }
+            });
+        } else {
+            TransactionSynchronizationManager.unbindResource(WARNED_KEY);
+        }
+        TransactionSynchronizationManager.bindResource(WARNED_KEY, level);
+        log.warn("persistence context is large. managedEntities={}, max={}", managed, max);
+    }
+}
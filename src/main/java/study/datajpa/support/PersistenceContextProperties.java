@@ -0,0 +1,26 @@
+package study.datajpa.support;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datajpa.persistence-context")
+public class PersistenceContextProperties {
+
+    /**
+     * 한 영속성 컨텍스트에서 관리할 최대 엔티티 수
+     */
+    private int maxManagedEntities = 10_000;
+
+    private Mode mode = Mode.WARN;
+
+    public enum Mode {
+        NONE,
+        // 경고 로그만 남김
+        WARN,
+        // 쓰기 후 한도를 넘으면 flush + clear (이전에 받은 엔티티는 준영속 상태가 됨)
+        FLUSH_CLEAR
+    }
+}
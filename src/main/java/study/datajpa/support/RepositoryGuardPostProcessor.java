@@ -0,0 +1,51 @@
+package study.datajpa.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스프링 데이터 리포지토리 프록시에 PersistenceContextGuard 검사를 끼워 넣는다.
+ * save*, delete* 는 쓰기로, 나머지는 조회로 본다.
+ * 실행 중에는 RepositoryMethodContext 에 "리포지토리.메서드" 를 남겨서 느린 쿼리의 출처를 알 수 있게 한다.
+ */
+@Component
+public class RepositoryGuardPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<PersistenceContextGuard> guard;
+
+    public RepositoryGuardPostProcessor(ObjectProvider<PersistenceContextGuard> guard) {
+        this.guard = guard;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(interceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private MethodInterceptor interceptor(String repositoryName) {
+        return invocation -> {
+            String name = invocation.getMethod().getName();
+            String previous = RepositoryMethodContext.enter(repositoryName + "." + name);
+            Object result;
+            try {
+                result = invocation.proceed();
+            } finally {
+                RepositoryMethodContext.exit(previous);
+            }
+            if (name.startsWith("save") || name.startsWith("delete")) {
+                guard.getObject().afterWrite();
+            } else {
+                guard.getObject().afterRead();
+            }
+            return result;
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.support;
+
+/**
+ * 현재 스레드에서 실행 중인 리포지토리 메서드 (예: MemberRepository.findByUsername).
+ * RepositoryGuardPostProcessor 가 설정하고, SQL 단위 리스너에서 쿼리의 출처를 찾을 때 사용.
+ */
+public final class RepositoryMethodContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryMethodContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    // 리포지토리 안에서 다른 리포지토리를 부르면 안쪽 메서드가 보이고, 끝나면 이전 값으로 돌아간다
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void exit(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
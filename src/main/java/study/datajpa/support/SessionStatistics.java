@@ -0,0 +1,60 @@
+package study.datajpa.support;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 세션 단위 통계 누적값 (flush 횟수/시간, dirty check 횟수/시간, 관찰된 최대 관리 엔티티 수).
+ * SessionStatisticsListener 는 하이버네이트가 세션마다 생성하므로 값은 정적으로 모은다.
+ */
+public final class SessionStatistics {
+
+    static final LongAdder FLUSH_COUNT = new LongAdder();
+    static final LongAdder FLUSH_NANOS = new LongAdder();
+    static final LongAdder FLUSHED_ENTITIES = new LongAdder();
+    static final LongAdder DIRTY_CHECK_COUNT = new LongAdder();
+    static final LongAdder DIRTY_CHECK_NANOS = new LongAdder();
+    static final LongAccumulator MAX_MANAGED_ENTITIES = new LongAccumulator(Math::max, 0);
+
+    private SessionStatistics() {
+    }
+
+    static void recordFlush(long nanos, int entities) {
+        FLUSH_COUNT.increment();
+        FLUSH_NANOS.add(nanos);
+        FLUSHED_ENTITIES.add(entities);
+    }
+
+    static void recordDirtyCheck(long nanos) {
+        DIRTY_CHECK_COUNT.increment();
+        DIRTY_CHECK_NANOS.add(nanos);
+    }
+
+    static void recordManagedEntities(int managed) {
+        MAX_MANAGED_ENTITIES.accumulate(managed);
+    }
+
+    public static long flushCount() {
+        return FLUSH_COUNT.sum();
+    }
+
+    public static long flushNanos() {
+        return FLUSH_NANOS.sum();
+    }
+
+    public static long flushedEntities() {
+        return FLUSHED_ENTITIES.sum();
+    }
+
+    public static long dirtyCheckCount() {
+        return DIRTY_CHECK_COUNT.sum();
+    }
+
+    public static long dirtyCheckNanos() {
+        return DIRTY_CHECK_NANOS.sum();
+    }
+
+    public static long maxManagedEntities() {
+        return MAX_MANAGED_ENTITIES.get();
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.support;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * hibernate.session.events.auto 로 등록되어 세션마다 하나씩 생성된다.
+ */
+public class SessionStatisticsListener implements SessionEventListener {
+
+    private long flushStart;
+    private long dirtyCheckStart;
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        SessionStatistics.recordFlush(System.nanoTime() - flushStart, numberOfEntities);
+    }
+
+    @Override
+    public void dirtyCalculationStart() {
+        dirtyCheckStart = System.nanoTime();
+    }
+
+    @Override
+    public void dirtyCalculationEnd(boolean dirty) {
+        SessionStatistics.recordDirtyCheck(System.nanoTime() - dirtyCheckStart);
+    }
+}
@@ -0,0 +1,35 @@
+package study.datajpa.support;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SessionStatistics 를 /actuator/metrics 로 노출
+ */
+@Component
+public class SessionStatisticsMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("jpa.session.flush", SessionStatistics.class,
+                        statistics -> SessionStatistics.flushCount(),
+                        statistics -> SessionStatistics.flushNanos(), TimeUnit.NANOSECONDS)
+                .register(registry);
+        FunctionTimer.builder("jpa.session.dirty.check", SessionStatistics.class,
+                        statistics -> SessionStatistics.dirtyCheckCount(),
+                        statistics -> SessionStatistics.dirtyCheckNanos(), TimeUnit.NANOSECONDS)
+                .register(registry);
+        // 누적값이라 카운터로 (rate / 합산이 맞도록)
+        FunctionCounter.builder("jpa.session.flushed.entities", SessionStatistics.class,
+                        statistics -> SessionStatistics.flushedEntities())
+                .register(registry);
+        Gauge.builder("jpa.session.managed.entities.max", SessionStatistics::maxManagedEntities)
+                .register(registry);
+    }
+}
@@ -0,0 +1,47 @@
+package study.datajpa.support;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * p6spy 로 모든 SQL 실행 시간을 받아서 threshold 를 넘으면 출처 리포지토리 메서드와 함께 기록한다.
+ * 바인딩 값은 남기지 않는다 (운영 로그에 개인정보가 남지 않도록). 로그는 sampleRate 비율만.
+ */
+@Slf4j
+@Component
+public class SlowQueryListener extends SimpleJdbcEventListener {
+
+    private static final String UNKNOWN = "none";
+
+    private final SlowQueryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SlowQueryListener(SlowQueryProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos < properties.getThreshold().toNanos()) {
+            return;
+        }
+        String method = RepositoryMethodContext.current();
+        Counter.builder("jpa.slow.queries")
+                .tag("method", method == null ? UNKNOWN : method)
+                .register(meterRegistry)
+                .increment();
+
+        if (ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+            log.warn("slow query {}ms [{}] {}", timeElapsedNanos / 1_000_000,
+                    method == null ? UNKNOWN : method, statementInformation.getSql());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.support;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datajpa.slow-query")
+public class SlowQueryProperties {
+
+    /**
+     * 이 시간 이상 걸린 SQL 을 느린 쿼리로 본다
+     */
+    private Duration threshold = Duration.ofMillis(100);
+
+    /**
+     * 느린 쿼리 중 로그로 남길 비율 (0 ~ 1). 건수는 샘플링 없이 jpa.slow.queries 메트릭에 모두 센다
+     */
+    private double sampleRate = 0.1;
+}
@@ -0,0 +1,106 @@
+package study.datajpa.support;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 테넌트별 메모리 캐시. 등록된 테넌트(TenantRegistry)만 받고, maxTenants 를 넘으면 가장 오래 안 쓴 테넌트를 버린다.
+ * 적재(DB 조회)는 맵 락 밖에서 테넌트별 락으로 한 번만 한다 -> 다른 테넌트의 조회/적재를 막지 않음.
+ * 적재 중에 들어온 변경(update)은 모아 두었다가 새 값을 넣기 전에 적용한다 -> 적재와 겹친 변경을 잃지 않음.
+ */
+public class TenantCache<V> {
+
+    private final TenantRegistry registry;
+    private final Map<String, V> entries;
+    // 등록된 테넌트만 들어오므로 크기가 테넌트 수로 제한됨
+    private final Map<String, Object> loadLocks = new ConcurrentHashMap<>();
+    // 적재 중인 테넌트 -> 적재가 끝나면 새 값에 적용할 변경. entries 락 안에서만 읽고 쓴다
+    private final Map<String, List<Consumer<V>>> pendingChanges = new HashMap<>();
+
+    public TenantCache(TenantRegistry registry, int maxTenants) {
+        this.registry = registry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxTenants;
+            }
+        };
+    }
+
+    public V getIfPresent(String tenantId) {
+        synchronized (entries) {
+            return entries.get(tenantId);
+        }
+    }
+
+    public V get(String tenantId, Function<String, V> loader) {
+        return get(tenantId, value -> false, loader);
+    }
+
+    // 없거나 stale 이면 다시 적재. 같은 테넌트의 동시 요청은 한 번만 적재하고 결과를 같이 쓴다
+    public V get(String tenantId, Predicate<V> stale, Function<String, V> loader) {
+        registry.require(tenantId);
+        V value = getIfPresent(tenantId);
+        if (value != null && !stale.test(value)) {
+            return value;
+        }
+        synchronized (loadLocks.computeIfAbsent(tenantId, key -> new Object())) {
+            value = getIfPresent(tenantId);
+            if (value != null && !stale.test(value)) {
+                return value;
+            }
+            return load(tenantId, loader);
+        }
+    }
+
+    // 무조건 다시 적재
+    public V reload(String tenantId, Function<String, V> loader) {
+        registry.require(tenantId);
+        synchronized (loadLocks.computeIfAbsent(tenantId, key -> new Object())) {
+            return load(tenantId, loader);
+        }
+    }
+
+    // 적재된 값에 변경을 적용한다. 적재 중이면 지금 값(다시 적재하는 경우)에 적용하고 새 값에도 적용하도록 모아 둔다
+    // 아직 적재하지 않은 테넌트는 건너뜀 (처음 조회할 때 최신 상태로 읽는다)
+    public void update(String tenantId, Consumer<V> change) {
+        synchronized (entries) {
+            V current = entries.get(tenantId);
+            if (current != null) {
+                change.accept(current);
+            }
+            List<Consumer<V>> pending = pendingChanges.get(tenantId);
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    // 테넌트별 적재 락 안에서 호출
+    private V load(String tenantId, Function<String, V> loader) {
+        synchronized (entries) {
+            pendingChanges.put(tenantId, new ArrayList<>());
+        }
+        try {
+            V value = loader.apply(tenantId);
+            // 적재한 데이터에 이미 들어 있는 변경이 다시 적용될 수 있다 (잃는 것보다 낫고, 다음 재적재에서 맞춰짐)
+            synchronized (entries) {
+                pendingChanges.remove(tenantId).forEach(change -> change.accept(value));
+                entries.put(tenantId, value);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                pendingChanges.remove(tenantId);
+            }
+            throw e;
+        }
+    }
+}
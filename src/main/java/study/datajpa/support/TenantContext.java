@@ -0,0 +1,54 @@
+package study.datajpa.support;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 테넌트. TenantFilter 가 요청마다 설정하고, TenantIdentifierResolver 가 세션을 열 때 읽는다.
+ * 설정되지 않은 스레드(스케줄러, 기동 시점 작업 등)는 DEFAULT 테넌트로 동작한다.
+ * 세션의 테넌트는 세션이 열릴 때 정해지므로, 트랜잭션(OSIV 면 요청) 시작 전에 설정해야 한다.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenantId() {
+        String tenantId = CURRENT.get();
+        return tenantId == null ? DEFAULT : tenantId;
+    }
+
+    // 다른 테넌트로 실행하고 이전 값으로 되돌린다 (워커 스레드로 테넌트를 넘길 때도 사용)
+    public static <T> T callAs(String tenantId, Supplier<T> action) {
+        String previous = enter(tenantId);
+        try {
+            return action.get();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    public static void runAs(String tenantId, Runnable action) {
+        callAs(tenantId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static String enter(String tenantId) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenantId);
+        return previous;
+    }
+
+    static void exit(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package study.datajpa.support;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * X-Tenant-Id 헤더로 요청의 테넌트를 정한다. TenantRegistry 에 등록된 테넌트만 받고,
+ * 헤더가 없으면 datajpa.tenancy.default-tenant 가 설정된 경우에만 그 테넌트로 처리한다 (그 외에는 거절).
+ * OSIV 인터셉터가 세션을 열기 전에 설정되도록 필터에서 처리한다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Tenant-Id";
+
+    private final TenantRegistry registry;
+    private final String defaultTenant;
+
+    public TenantFilter(TenantRegistry registry, TenantProperties properties) {
+        this.registry = registry;
+        this.defaultTenant = properties.getDefaultTenant();
+    }
+
+    // 액추에이터는 테넌트 데이터를 다루지 않음
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(HEADER);
+        if (tenantId == null || tenantId.isEmpty()) {
+            if (defaultTenant == null || defaultTenant.isEmpty()) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, HEADER + " 헤더가 필요합니다");
+                return;
+            }
+            tenantId = defaultTenant;
+        }
+        if (!registry.isKnown(tenantId)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "등록되지 않은 테넌트입니다");
+            return;
+        }
+        String previous = TenantContext.enter(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.exit(previous);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package study.datajpa.support;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 세션을 열 때 TenantContext 의 테넌트를 넘긴다.
+ * BaseEntity.tenantId(@TenantId) 때문에 Member / Team 의 모든 HQL, 조회에 tenant_id = ? 조건이 붙고 저장 시 값이 채워진다.
+ * 네이티브 SQL / JDBC 는 직접 tenant_id 조건을 넣어야 한다.
+ */
+@Component
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String>, HibernatePropertiesCustomizer {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.getTenantId();
+    }
+
+    // 열린 세션(OSIV)의 테넌트와 현재 값이 달라도 예외를 던지지 않음. 요청 중에 테넌트를 바꾸지 않는다
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
@@ -0,0 +1,30 @@
+package study.datajpa.support;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datajpa.tenancy")
+public class TenantProperties {
+
+    /**
+     * 등록된 테넌트. X-Tenant-Id 가 여기에 없으면 요청을 거절한다
+     */
+    private Set<String> tenants = new LinkedHashSet<>(List.of(TenantContext.DEFAULT));
+
+    /**
+     * X-Tenant-Id 가 없는 요청에 쓸 테넌트 (단일 테넌트 / 로컬용). 비어 있으면 헤더 없는 요청을 거절한다
+     */
+    private String defaultTenant;
+
+    /**
+     * 테넌트별 메모리 캐시(통계, 자동완성 인덱스)를 몇 개 테넌트까지 유지할지. 넘으면 가장 오래 안 쓴 테넌트부터 버린다
+     */
+    private int cacheMaxTenants = 100;
+}
@@ -0,0 +1,34 @@
+package study.datajpa.support;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * 등록된 테넌트 목록 (datajpa.tenancy.tenants).
+ * 요청 헤더와 테넌트별 캐시는 여기에 있는 테넌트만 받는다.
+ */
+@Component
+public class TenantRegistry {
+
+    private final Set<String> tenants;
+
+    public TenantRegistry(TenantProperties properties) {
+        this.tenants = Set.copyOf(properties.getTenants());
+    }
+
+    public boolean isKnown(String tenantId) {
+        return tenantId != null && tenants.contains(tenantId);
+    }
+
+    public String require(String tenantId) {
+        if (!isKnown(tenantId)) {
+            throw new IllegalArgumentException("등록되지 않은 테넌트입니다: " + tenantId);
+        }
+        return tenantId;
+    }
+
+    public Set<String> getTenants() {
+        return tenants;
+    }
+}
@@ -0,0 +1,59 @@
+package study.datajpa.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 트랜잭션마다 현재 시각을 한 번만 읽어서 재사용하는 시계.
+ * 같은 트랜잭션에서 수정된 엔티티는 모두 같은 수정 시각을 가진다. 트랜잭션 밖에서는 매번 현재 시각.
+ * 시각을 읽은 뒤 아직 끝나지 않은 트랜잭션의 시작 시각을 기억해서, 변경 피드가 그 시각을 넘어가지 않게 한다 (ChangeCursor.safeUntil).
+ */
+public final class TransactionClock {
+
+    private static final Object RESOURCE_KEY = TransactionClock.class.getName() + ".NOW";
+
+    // 진행 중인 트랜잭션 -> 읽은 시각. 이 트랜잭션들이 커밋할 행의 수정 시각은 모두 이 값 이상
+    private static final Map<Object, LocalDateTime> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    private TransactionClock() {
+    }
+
+    public static LocalDateTime now() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return LocalDateTime.now(clock);
+        }
+        LocalDateTime now = (LocalDateTime) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (now == null) {
+            now = LocalDateTime.now(clock);
+            Object transaction = new Object();
+            IN_FLIGHT.put(transaction, now);
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, now);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    IN_FLIGHT.remove(transaction);
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                }
+            });
+        }
+        return now;
+    }
+
+    // 이 JVM 에서 진행 중인 트랜잭션 중 가장 먼저 시각을 읽은 값 (없으면 empty)
+    public static Optional<LocalDateTime> oldestInFlight() {
+        return IN_FLIGHT.values().stream().min(LocalDateTime::compareTo);
+    }
+
+    // 테스트에서 고정 시계로 바꿀 때 사용
+    public static void setClock(Clock newClock) {
+        clock = newClock;
+    }
+}
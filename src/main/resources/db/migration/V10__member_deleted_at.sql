@@ -0,0 +1,8 @@
+-- soft delete 시각. 보존 기간(datajpa.soft-delete.retention)이 지난 행만 물리 삭제한다
+alter table member add column deleted_at timestamp(6);
+
+-- 시각을 모르는 기존 삭제 행은 지금부터 보존 기간을 센다
+update member set deleted_at = current_timestamp where deleted = true;
+
+drop index idx_member_deleted;
+create index idx_member_deleted on member (deleted, deleted_at);
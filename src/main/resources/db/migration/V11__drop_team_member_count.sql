@@ -0,0 +1,2 @@
+-- 팀 회원 수는 team_summary.member_count 한 곳에만 둔다 (Team.memberCount 는 @Formula 로 읽음)
+alter table team drop column member_count;
@@ -0,0 +1,32 @@
+create sequence team_seq start with 1 increment by 50;
+
+create table item (
+    id varchar(255) not null,
+    created_date timestamp(6),
+    primary key (id)
+);
+
+create table team (
+    team_id bigint not null,
+    created_by varchar(255),
+    created_date timestamp(6),
+    last_modified_by varchar(255),
+    last_modified_date timestamp(6),
+    name varchar(255),
+    primary key (team_id)
+);
+
+create table member (
+    member_id bigint generated by default as identity,
+    age integer not null,
+    created_by varchar(255),
+    created_date timestamp(6),
+    last_modified_by varchar(255),
+    last_modified_date timestamp(6),
+    username varchar(255),
+    team_id bigint,
+    primary key (member_id)
+);
+
+alter table member
+    add constraint fk_member_team foreign key (team_id) references team;
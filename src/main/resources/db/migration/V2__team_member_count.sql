@@ -0,0 +1,3 @@
+alter table team add column member_count bigint default 0 not null;
+
+update team t set member_count = (select count(*) from member m where m.team_id = t.team_id);
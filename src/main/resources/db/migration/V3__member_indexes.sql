@@ -0,0 +1,3 @@
+create index idx_member_username_team on member (username, team_id);
+create index idx_member_age_username on member (age, username);
+create index idx_member_team_id on member (team_id);
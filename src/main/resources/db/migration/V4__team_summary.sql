@@ -0,0 +1,17 @@
+create table team_summary (
+    team_id bigint not null,
+    team_name varchar(255),
+    member_count bigint not null,
+    age_sum bigint not null,
+    newest_member_id bigint,
+    newest_member_username varchar(255),
+    newest_member_created_date timestamp(6),
+    primary key (team_id)
+);
+
+insert into team_summary (team_id, team_name, member_count, age_sum, newest_member_id, newest_member_username, newest_member_created_date)
+select t.team_id, t.name, count(m.member_id), coalesce(sum(m.age), 0), n.member_id, n.username, n.created_date
+from team t
+left join member m on m.team_id = t.team_id
+left join member n on n.member_id = (select max(x.member_id) from member x where x.team_id = t.team_id)
+group by t.team_id, t.name, n.member_id, n.username, n.created_date;
@@ -0,0 +1,9 @@
+create table outbox_event (
+    outbox_event_id bigint generated by default as identity,
+    aggregate_type varchar(20) not null,
+    aggregate_id bigint not null,
+    event_type varchar(10) not null,
+    payload varchar(1000),
+    created_date timestamp(6),
+    primary key (outbox_event_id)
+);
@@ -0,0 +1,2 @@
+create index idx_member_modified on member (last_modified_date, member_id);
+create index idx_team_modified on team (last_modified_date, team_id);
@@ -0,0 +1,11 @@
+create table job_checkpoint (
+    job_checkpoint_id bigint generated by default as identity,
+    job_name varchar(100) not null,
+    range_start bigint not null,
+    range_end bigint not null,
+    completed boolean not null,
+    rows_processed bigint not null,
+    completed_date timestamp(6),
+    primary key (job_checkpoint_id),
+    constraint uk_job_checkpoint_range unique (job_name, range_start)
+);
@@ -0,0 +1,10 @@
+alter table member add column deleted boolean default false not null;
+
+-- 활성 행 조건(deleted = false)을 인덱스 안에서 처리하도록 deleted 를 키에 포함
+drop index idx_member_username_team;
+create index idx_member_username_team on member (username, deleted, team_id);
+
+drop index idx_member_age_username;
+create index idx_member_age_username on member (age, deleted, username);
+
+create index idx_member_deleted on member (deleted, member_id);
@@ -0,0 +1,18 @@
+-- 하이버네이트 @TenantId 구분 컬럼. 기존 데이터는 기본 테넌트로
+alter table member add column tenant_id varchar(64) default 'default' not null;
+alter table team add column tenant_id varchar(64) default 'default' not null;
+alter table team_summary add column tenant_id varchar(64) default 'default' not null;
+alter table outbox_event add column tenant_id varchar(64) default 'default' not null;
+
+-- 모든 조회에 tenant_id = ? 가 붙으므로 tenant_id 를 맨 앞에 둔 인덱스로 교체
+drop index idx_member_username_team;
+create index idx_member_username_team on member (tenant_id, username, deleted, team_id);
+
+drop index idx_member_age_username;
+create index idx_member_age_username on member (tenant_id, age, deleted, username);
+
+drop index idx_member_modified;
+create index idx_member_modified on member (tenant_id, last_modified_date, member_id);
+
+drop index idx_team_modified;
+create index idx_team_modified on team (tenant_id, last_modified_date, team_id);
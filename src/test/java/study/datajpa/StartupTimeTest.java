@@ -0,0 +1,84 @@
+package study.datajpa;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 프로필과 fast 프로필의 기동 비교.
+ * 기동 시간은 환경에 따라 흔들리므로 출력만 하고, 검증은 기동을 빠르게 만드는 설정이 실제로 적용됐는지로 한다.
+ * 각 기동마다 새 메모리 DB를 쓰므로 fast 프로필은 Flyway 마이그레이션 + validate 까지 함께 검증된다.
+ */
+class StartupTimeTest {
+
+    private static final int ROUNDS = 3;
+
+    @Test
+    public void fastProfileDefersInitialization() {
+        try (ConfigurableApplicationContext context = start("fast")) {
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+
+            // 지연 초기화: 컨트롤러는 첫 요청 전까지 만들어지지 않는다
+            assertThat(beanFactory.containsSingleton("memberController")).isFalse();
+            // 리포지토리 지연 부트스트랩: EntityManagerFactory 를 백그라운드 executor 에서 초기화
+            assertThat(context.getBean("&entityManagerFactory", LocalContainerEntityManagerFactoryBean.class)
+                    .getBootstrapExecutor()).isNotNull();
+            // 스키마는 Flyway 가 만들고 마이그레이션 검증도 통과 (ddl-auto: validate 는 기동 성공으로 확인됨)
+            Flyway flyway = context.getBean(Flyway.class);
+            assertThat(flyway.info().applied()).isNotEmpty();
+            assertThat(flyway.validateWithResult().validationSuccessful).isTrue();
+        }
+    }
+
+    @Test
+    public void defaultProfileInitializesEagerly() {
+        try (ConfigurableApplicationContext context = start()) {
+            assertThat(context.getBeanFactory().containsSingleton("memberController")).isTrue();
+            assertThat(context.getBean("&entityManagerFactory", LocalContainerEntityManagerFactoryBean.class)
+                    .getBootstrapExecutor()).isNull();
+            assertThat(context.getBeanNamesForType(Flyway.class)).isEmpty();
+        }
+    }
+
+    @Test
+    public void startupTime() {
+        //given
+        measure(); // JVM 워밍업
+
+        //when
+        long defaultMillis = measure();
+        long fastMillis = measure("fast");
+
+        //then 참고용 출력 (판정은 위의 설정 검증으로)
+        System.out.println("startup default = " + defaultMillis + "ms");
+        System.out.println("startup fast    = " + fastMillis + "ms");
+        System.out.println("improvement     = " + (defaultMillis - fastMillis) + "ms ("
+                + Math.round((defaultMillis - fastMillis) * 100.0 / defaultMillis) + "%)");
+    }
+
+    // 여러 번 띄워서 가장 빠른 기동 시간을 사용
+    private long measure(String... profiles) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            try (ConfigurableApplicationContext context = start(profiles)) {
+                best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+        return best;
+    }
+
+    private ConfigurableApplicationContext start(String... profiles) {
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:startup-" + UUID.randomUUID());
+    }
+}
@@ -0,0 +1,65 @@
+package study.datajpa.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔드포인트별 커넥션 점유 시간 vs 쿼리 시간 (OSIV 켜짐). OSIV 를 끈 경우와의 비교는 NoOsivConnectionHoldProfilingTest
+ */
+@ActiveProfiles("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"perf.data.members=5000", "perf.data.teams=50", "datajpa.connection-profiling.enabled=true"})
+class ConnectionHoldProfilingTest {
+
+    static final int REQUESTS = 100;
+    static final String URI = "/members/dto";
+    private static final String HOLD = "http.server.db.connection.hold";
+    private static final String QUERY = "http.server.db.query";
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void holdVsQueryTime() {
+        measure(restTemplate, meterRegistry, getClass().getSimpleName());
+    }
+
+    // REQUESTS 번 요청하고 요청당 평균 커넥션 점유 시간(ms). 같은 레지스트리를 여러 번 재도 이번 요청분만 센다
+    static double measure(TestRestTemplate client, MeterRegistry registry, String name) {
+        Timer holdBefore = registry.find(HOLD).tag("uri", URI).timer();
+        Timer queryBefore = registry.find(QUERY).tag("uri", URI).timer();
+        double holdStartMs = holdBefore == null ? 0 : holdBefore.totalTime(TimeUnit.MILLISECONDS);
+        double queryStartMs = queryBefore == null ? 0 : queryBefore.totalTime(TimeUnit.MILLISECONDS);
+        long countStart = holdBefore == null ? 0 : holdBefore.count();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(client.getForEntity(URI + "?page=" + (1 + i % 20) + "&size=200&sort=username", String.class)
+                    .getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        Timer hold = registry.get(HOLD).tag("uri", URI).timer();
+        Timer query = registry.get(QUERY).tag("uri", URI).timer();
+        double holdMs = hold.totalTime(TimeUnit.MILLISECONDS) - holdStartMs;
+        double queryMs = query.totalTime(TimeUnit.MILLISECONDS) - queryStartMs;
+        long count = hold.count() - countStart;
+        System.out.printf("%s %s: connection hold %.1fms, query %.1fms (%.1fx) over %d requests%n",
+                name, URI, holdMs, queryMs, holdMs / queryMs, count);
+
+        assertThat(count).isEqualTo(REQUESTS);
+        assertThat(holdMs).isGreaterThanOrEqualTo(queryMs);
+        return holdMs / count;
+    }
+}
@@ -0,0 +1,91 @@
+package study.datajpa.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * perf 프로필로 띄운 앱에 고정된 시나리오로 요청을 보내고 지연시간 분포를 출력.
+ * 데이터 크기는 -Dperf.load.members=1000000 처럼 시스템 프로퍼티로 키울 수 있다.
+ */
+@ActiveProfiles("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"perf.data.members=${perf.load.members:20000}", "perf.data.teams=${perf.load.teams:200}"})
+class MemberLoadScenarioTest {
+
+    private static final int THREADS = 4;
+    private static final int REQUESTS_PER_SCENARIO = 200;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    public void scenarios() throws Exception {
+        Map<String, String> scenarios = new LinkedHashMap<>();
+        scenarios.put("member by id", "/members/%d");
+        scenarios.put("dto page", "/members/dto?page=%d&size=20&sort=username,desc");
+        scenarios.put("stream page", "/members/stream?page=%d&size=200");
+        scenarios.put("large stream page", "/members/stream?page=%d&size=2000");
+        scenarios.put("stats", "/members/stats?ignored=%d");
+
+        for (Map.Entry<String, String> scenario : scenarios.entrySet()) {
+            run(scenario.getKey(), scenario.getValue());
+        }
+    }
+
+    private void run(String name, String urlTemplate) throws Exception {
+        Random random = new Random(42); // 매번 같은 요청 순서
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < REQUESTS_PER_SCENARIO; i++) {
+            urls.add(String.format(urlTemplate, 1 + random.nextInt(100)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String url : urls) {
+                futures.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+                    latencies.add(System.nanoTime() - requestStart);
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("%-18s requests=%d throughput=%.1f/s p50=%.2fms p95=%.2fms p99=%.2fms%n",
+                name, sorted.size(), sorted.size() / (elapsed / 1_000_000_000.0),
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99));
+    }
+
+    private static double percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,24 @@
+package study.datajpa.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MemberStreamControllerTest {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    public void unsupportedSortIsBadRequest() {
+        assertThat(restTemplate.getForEntity("/members/stream?sort=password", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity("/members/stream?sort=username,desc", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,37 @@
+package study.datajpa.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import study.datajpa.DataJpaApplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 시나리오를 OSIV 를 끄고 실행 (커넥션은 리포지토리 트랜잭션 동안만 잡힘)
+@ActiveProfiles("no-osiv")
+class NoOsivConnectionHoldProfilingTest extends ConnectionHoldProfilingTest {
+
+    @Test
+    public void holdsConnectionShorterThanOsiv() {
+        // OSIV 를 켠 같은 애플리케이션을 별도 메모리 DB / 포트로 띄워서 같은 요청으로 비교
+        try (ConfigurableApplicationContext osiv = new SpringApplicationBuilder(DataJpaApplication.class)
+                .profiles("perf")
+                .properties("spring.datasource.url=jdbc:h2:mem:perf-osiv;DB_CLOSE_DELAY=-1", "server.port=0",
+                        "perf.data.members=5000", "perf.data.teams=50", "datajpa.connection-profiling.enabled=true")
+                .run()) {
+            int port = ((WebServerApplicationContext) osiv).getWebServer().getPort();
+            TestRestTemplate osivClient = new TestRestTemplate(new RestTemplateBuilder().rootUri("http://localhost:" + port));
+
+            double osivHold = measure(osivClient, osiv.getBean(MeterRegistry.class), "osiv");
+            double noOsivHold = measure(restTemplate, meterRegistry, "no-osiv");
+
+            // OSIV 를 끄면 응답 직렬화 동안 커넥션을 잡고 있지 않음
+            assertThat(noOsivHold).isLessThan(osivHold);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.Entity;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+
+// 변경된 컬럼만 UPDATE (테스트 전용)
+@Entity
+@DynamicUpdate
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DynamicWideRow extends WideRowColumns {
+
+    public DynamicWideRow(String value) {
+        super(value);
+    }
+}
@@ -2,6 +2,8 @@ package study.datajpa.entity;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,10 +12,12 @@ import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.repository.MemberRepository;
 
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "study.datajpa.entity.MemberTest$StatementCapture")
 @Transactional
 @Rollback(value = false)
 class MemberTest {
@@ -79,6 +83,80 @@ class MemberTest {
         System.out.println("findMember.lastModifiedBy = " + findMember.getLastModifiedBy());
     }
 
+    @Test
+    public void teamMemberCount() {
+        //given
+        Team teamA = createTeam("teamA");
+        Team teamB = createTeam("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = createMember("member1", 10, teamA);
+        Member member2 = createMember("member2", 20, teamA);
+        em.persist(member1);
+        em.persist(member2);
+
+        //when
+        member2.changeTeam(teamB);
+        em.remove(member1);
+
+        em.flush();
+        em.clear();
+
+        //then
+        assertEquals(0, em.find(Team.class, teamA.getId()).getMemberCount());
+        assertEquals(1, em.find(Team.class, teamB.getId()).getMemberCount());
+    }
+
+    @Test
+    public void changeTeamWithoutInitializingMembers() {
+        //given
+        Team teamA = createTeam("teamA");
+        Team teamB = createTeam("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        for (int i = 0; i < 3; i++) {
+            em.persist(createMember("memberA" + i, 10, teamA));
+        }
+        for (int i = 0; i < 10; i++) {
+            em.persist(createMember("memberB" + i, 20, teamB));
+        }
+
+        em.flush();
+        em.clear();
+
+        List<Member> members = em.createQuery("select m from Member m where m.team.id = :teamId", Member.class)
+                .setParameter("teamId", teamA.getId())
+                .getResultList();
+        Team oldTeam = members.get(0).getTeam();
+        Team newTeam = em.find(Team.class, teamB.getId());
+        StatementCapture.SELECTS.clear();
+
+        //when
+        for (Member member : members) {
+            member.changeTeam(newTeam);
+        }
+
+        //then: 이전 팀 프록시 초기화 한 번뿐 (members 컬렉션 로딩이나 회원마다 추가 SELECT 없음)
+        assertEquals(1, StatementCapture.SELECTS.size(), StatementCapture.SELECTS::toString);
+        assertFalse(StatementCapture.SELECTS.get(0).contains(" from member "), StatementCapture.SELECTS::toString);
+        assertFalse(Hibernate.isInitialized(oldTeam.getMembers()));
+        assertFalse(Hibernate.isInitialized(newTeam.getMembers()));
+        for (Member member : members) {
+            assertTrue(newTeam.hasMember(member));
+            assertFalse(oldTeam.hasMember(member));
+        }
+
+        //then: flush 는 UPDATE 만 (회원 수는 DB 에서 증감)
+        StatementCapture.SELECTS.clear();
+        em.flush();
+        assertEquals(0, StatementCapture.SELECTS.size(), StatementCapture.SELECTS::toString);
+
+        em.clear();
+        assertEquals(0, em.find(Team.class, teamA.getId()).getMemberCount());
+        assertEquals(13, em.find(Team.class, teamB.getId()).getMemberCount());
+    }
 
     private static Team createTeam(String team) {
         return Team.builder()
@@ -94,4 +172,18 @@ class MemberTest {
                 .build();
     }
 
+    // 하이버네이트가 실행한 SELECT 를 모은다 (리스너가 JDBC 로 직접 실행하는 SQL 은 제외됨)
+    public static class StatementCapture implements StatementInspector {
+
+        static final List<String> SELECTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                SELECTS.add(sql);
+            }
+            return sql;
+        }
+    }
+
 }
\ No newline at end of file
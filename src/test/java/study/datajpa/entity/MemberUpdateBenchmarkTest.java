@@ -0,0 +1,117 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이름만 바꿨을 때 UPDATE 에 변경된 컬럼(+ 수정 감사 컬럼)만 들어가는지 확인하고 처리량을 출력.
+ * 넓은 행(컬럼 20개)에서 @DynamicUpdate 있음 / 없음 비교
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "study.datajpa.entity.MemberUpdateBenchmarkTest$UpdateCapture")
+@Transactional
+class MemberUpdateBenchmarkTest {
+
+    private static final int COUNT = 2000;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void updateThroughput() {
+        //given
+        Team team = Team.builder().name("benchTeam").build();
+        em.persist(team);
+        for (int i = 0; i < COUNT; i++) {
+            em.persist(Member.builder().username("bench" + i).age(i % 100).team(team).build());
+        }
+        em.flush();
+        em.clear();
+
+        List<Member> members = em.createQuery("select m from Member m where m.username like 'bench%'", Member.class)
+                .getResultList();
+        UpdateCapture.UPDATES.clear();
+
+        //when
+        long start = System.nanoTime();
+        for (Member member : members) {
+            member.changeName(member.getUsername() + "-changed");
+        }
+        em.flush();
+        long elapsed = System.nanoTime() - start;
+
+        //then
+        System.out.println("updated " + members.size() + " members in " + elapsed / 1_000_000 + "ms ("
+                + Math.round(members.size() / (elapsed / 1_000_000_000.0)) + " updates/s)");
+        String update = firstUpdate("member");
+        System.out.println("update = " + update);
+        assertThat(update).contains("username");
+        assertThat(update).doesNotContain("age=", "team_id=", "created_date=", "created_by=");
+    }
+
+    @Test
+    public void dynamicUpdateOnWideRow() {
+        //given: 컬럼 20개짜리 행을 @DynamicUpdate 있음 / 없음으로 COUNT 건씩
+        for (int i = 0; i < COUNT; i++) {
+            em.persist(new DynamicWideRow("value" + i));
+            em.persist(new StaticWideRow("value" + i));
+        }
+        em.flush();
+        em.clear();
+
+        //when: 한 컬럼만 변경
+        long dynamicNanos = changeOneColumn(DynamicWideRow.class);
+        long staticNanos = changeOneColumn(StaticWideRow.class);
+
+        //then
+        String dynamicUpdate = firstUpdate("dynamic_wide_row");
+        String staticUpdate = firstUpdate("static_wide_row");
+        System.out.println("@DynamicUpdate    " + COUNT + " rows: " + dynamicNanos / 1_000_000 + "ms, " + dynamicUpdate);
+        System.out.println("no @DynamicUpdate " + COUNT + " rows: " + staticNanos / 1_000_000 + "ms, " + staticUpdate);
+        assertThat(dynamicUpdate).contains("c01=").doesNotContain("c02=", "c20=");
+        assertThat(staticUpdate).contains("c01=", "c02=", "c20=");
+    }
+
+    private long changeOneColumn(Class<? extends WideRowColumns> type) {
+        List<? extends WideRowColumns> rows = em.createQuery("select r from " + type.getSimpleName() + " r", type)
+                .getResultList();
+        UpdateCapture.UPDATES.clear();
+        long start = System.nanoTime();
+        for (WideRowColumns row : rows) {
+            row.changeC01(row.getC01() + "-changed");
+        }
+        em.flush();
+        long elapsed = System.nanoTime() - start;
+        em.clear();
+        return elapsed;
+    }
+
+    private static String firstUpdate(String table) {
+        return UpdateCapture.UPDATES.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("update " + table + " "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(table + " UPDATE 가 없습니다"));
+    }
+
+    public static class UpdateCapture implements StatementInspector {
+
+        static final List<String> UPDATES = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("update ")) {
+                UPDATES.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.Entity;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+// 모든 컬럼을 UPDATE 하는 기본 방식 (테스트 전용)
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StaticWideRow extends WideRowColumns {
+
+    public StaticWideRow(String value) {
+        super(value);
+    }
+}
@@ -0,0 +1,141 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.service.TeamSummaryService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TeamSummaryTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamSummaryService teamSummaryService;
+
+    @Test
+    public void incrementalSummary() {
+        //given
+        Team teamA = createTeam("teamA");
+        Team teamB = createTeam("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = createMember("member1", 10, teamA);
+        Member member2 = createMember("member2", 20, teamA);
+        Member member3 = createMember("member3", 30, teamA);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.flush();
+
+        TeamSummary summaryA = summary(teamA);
+        assertEquals("teamA", summaryA.getTeamName());
+        assertEquals(3, summaryA.getMemberCount());
+        assertEquals(20.0, summaryA.getAverageAge());
+        assertEquals("member3", summaryA.getNewestMemberUsername());
+
+        //when
+        member3.changeTeam(teamB); // 최신 회원이 다른 팀으로 이동
+        member1.changeName("renamed");
+        em.remove(member2);
+        teamB.changeName("teamB2");
+        em.flush();
+
+        //then
+        summaryA = summary(teamA);
+        assertEquals(1, summaryA.getMemberCount());
+        assertEquals(10.0, summaryA.getAverageAge());
+        assertEquals(member1.getId(), summaryA.getNewestMemberId());
+        assertEquals("renamed", summaryA.getNewestMemberUsername());
+
+        TeamSummary summaryB = summary(teamB);
+        assertEquals("teamB2", summaryB.getTeamName());
+        assertEquals(1, summaryB.getMemberCount());
+        assertEquals(30.0, summaryB.getAverageAge());
+        assertEquals("member3", summaryB.getNewestMemberUsername());
+
+        // 증분 결과가 원본에서 다시 계산한 결과와 같아야 함
+        teamSummaryService.rebuild(List.of(teamA.getId(), teamB.getId()));
+        assertSameSummary(summaryA, summary(teamA));
+        assertSameSummary(summaryB, summary(teamB));
+    }
+
+    @Test
+    public void summaryAfterBulkDelete() {
+        //given
+        Team team = createTeam("team");
+        em.persist(team);
+        for (int i = 0; i < 10; i++) {
+            em.persist(createMember("member" + i, i, team));
+        }
+        em.flush();
+
+        //when
+        memberRepository.bulkDeleteByAgeBetween(5, 9);
+
+        //then
+        TeamSummary summary = summary(team);
+        assertEquals(5, summary.getMemberCount());
+        assertEquals(2.0, summary.getAverageAge());
+        assertEquals("member4", summary.getNewestMemberUsername());
+    }
+
+    @Test
+    public void emptyTeamSummary() {
+        Team team = createTeam("empty");
+        em.persist(team);
+        em.flush();
+
+        TeamSummary summary = summary(team);
+        assertEquals(0, summary.getMemberCount());
+        assertEquals(0.0, summary.getAverageAge());
+        assertNull(summary.getNewestMemberId());
+    }
+
+    private TeamSummary summary(Team team) {
+        TeamSummary summary = teamRepository.findSummary(team.getId())
+                .orElseThrow(() -> new IllegalArgumentException("팀 요약이 존재하지 않습니다"));
+        em.detach(summary); // 요약은 JDBC 로 갱신되므로 다음 조회에서 이전 값이 재사용되지 않게 한다
+        return summary;
+    }
+
+    private static void assertSameSummary(TeamSummary expected, TeamSummary actual) {
+        assertEquals(expected.getTeamName(), actual.getTeamName());
+        assertEquals(expected.getMemberCount(), actual.getMemberCount());
+        assertEquals(expected.getAgeSum(), actual.getAgeSum());
+        assertEquals(expected.getNewestMemberId(), actual.getNewestMemberId());
+        assertEquals(expected.getNewestMemberUsername(), actual.getNewestMemberUsername());
+    }
+
+    private static Team createTeam(String team) {
+        return Team.builder()
+                .name(team)
+                .build();
+    }
+
+    private static Member createMember(String member, int age, Team team) {
+        return Member.builder()
+                .username(member)
+                .age(age)
+                .team(team)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * @DynamicUpdate 비교용 넓은 행 (테스트 전용). 컬럼 20개 중 하나만 바꿨을 때 UPDATE 크기 / 처리량 비교
+ */
+@MappedSuperclass
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public abstract class WideRowColumns {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String c01;
+    private String c02;
+    private String c03;
+    private String c04;
+    private String c05;
+    private String c06;
+    private String c07;
+    private String c08;
+    private String c09;
+    private String c10;
+    private String c11;
+    private String c12;
+    private String c13;
+    private String c14;
+    private String c15;
+    private String c16;
+    private String c17;
+    private String c18;
+    private String c19;
+    private String c20;
+
+    protected WideRowColumns(String value) {
+        c01 = c02 = c03 = c04 = c05 = c06 = c07 = c08 = c09 = c10 = value;
+        c11 = c12 = c13 = c14 = c15 = c16 = c17 = c18 = c19 = c20 = value;
+    }
+
+    public void changeC01(String c01) {
+        this.c01 = c01;
+    }
+}
@@ -0,0 +1,138 @@
+package study.datajpa.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.JobCheckpoint;
+import study.datajpa.repository.JobCheckpointRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 워커 스레드는 각자 트랜잭션을 열기 때문에 데이터를 커밋해야 보임 -> @Transactional 없음
+@SpringBootTest
+class MemberPartitionJobRunnerTest {
+
+    private static final int MEMBERS = 20_000;
+    private static final String USERNAME_PREFIX = "partitionJob";
+    // 워커 2개 이상일 때 최소 처리량 향상 배수
+    private static final double MIN_SPEEDUP = 1.2;
+
+    @Autowired
+    MemberPartitionJobRunner runner;
+
+    @Autowired
+    JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // 커밋된 데이터라 직접 지움 (다른 테스트의 전체 건수에 영향 없도록)
+    @AfterEach
+    public void deleteInsertedMembers() {
+        jdbcTemplate.update("delete from member where username like ?", USERNAME_PREFIX + "%");
+    }
+
+    @Test
+    public void resumeFromCheckpoint() {
+        //given
+        insertMembers(1000);
+        AtomicBoolean failOnce = new AtomicBoolean(true);
+        Set<Long> processedStarts = ConcurrentHashMap.newKeySet();
+        PartitionTask task = (em, range) -> {
+            if (range.getStart() == firstStart("resumeJob") && failOnce.getAndSet(false)) {
+                throw new IllegalStateException("첫 파티션 실패");
+            }
+            processedStarts.add(range.getStart());
+            return em.createQuery("select count(m) from Member m where m.id between :start and :end", Long.class)
+                    .setParameter("start", range.getStart())
+                    .setParameter("end", range.getEnd())
+                    .getSingleResult();
+        };
+
+        //when: 첫 실행은 한 파티션이 실패
+        assertThatThrownBy(() -> runner.run("resumeJob", 2, 4, task))
+                .isInstanceOf(IllegalStateException.class);
+        List<JobCheckpoint> checkpoints = checkpoints("resumeJob");
+        assertThat(checkpoints).hasSize(4);
+        assertThat(checkpoints.get(0).isCompleted()).isFalse();
+        assertThat(checkpoints.subList(1, 4)).allMatch(JobCheckpoint::isCompleted);
+
+        processedStarts.clear();
+        JobReport report = runner.run("resumeJob", 2, 4, task);
+
+        //then: 실패한 파티션만 다시 처리하고 체크포인트는 정리
+        assertThat(processedStarts).containsExactly(checkpoints.get(0).getRangeStart());
+        assertThat(report.getSkippedPartitions()).isEqualTo(3);
+        assertThat(checkpoints("resumeJob")).isEmpty();
+    }
+
+    @Test
+    public void scaleWithWorkers() {
+        //given
+        insertMembers(MEMBERS);
+        PartitionTask task = (em, range) -> {
+            // 파티션 안에서도 id 키셋으로 1000 건씩 읽고 청크마다 clear
+            long rows = 0;
+            long lastId = range.getStart() - 1;
+            while (true) {
+                List<Object[]> chunk = em.createQuery("select m.id, m.age from Member m" +
+                                " where m.id > :lastId and m.id <= :end order by m.id", Object[].class)
+                        .setParameter("lastId", lastId)
+                        .setParameter("end", range.getEnd())
+                        .setMaxResults(1000)
+                        .getResultList();
+                if (chunk.isEmpty()) {
+                    return rows;
+                }
+                rows += chunk.size();
+                lastId = (Long) chunk.get(chunk.size() - 1)[0];
+                em.clear();
+            }
+        };
+        int workers = Math.min(4, Runtime.getRuntime().availableProcessors());
+        assumeTrue(workers >= 2, "워커를 2개 이상 쓸 수 있는 환경에서만 비교");
+        runner.run("scaleJob", workers, task); // 워밍업
+
+        //when
+        JobReport single = runner.run("scaleJob", 1, task);
+        JobReport parallel = runner.run("scaleJob", workers, task);
+
+        //then
+        System.out.println("1 worker : " + single.getRows() + " rows, " + Math.round(single.getRowsPerSecond()) + " rows/s");
+        System.out.println(workers + " workers: " + parallel.getRows() + " rows, " + Math.round(parallel.getRowsPerSecond()) + " rows/s");
+        System.out.printf("speedup: %.2fx%n", parallel.getRowsPerSecond() / single.getRowsPerSecond());
+        assertThat(parallel.getRows()).isEqualTo(single.getRows());
+        assertThat(single.getRows()).isGreaterThanOrEqualTo(MEMBERS);
+        assertThat(parallel.getRowsPerSecond()).isGreaterThanOrEqualTo(single.getRowsPerSecond() * MIN_SPEEDUP);
+    }
+
+    private long firstStart(String jobName) {
+        return checkpoints(jobName).get(0).getRangeStart();
+    }
+
+    private List<JobCheckpoint> checkpoints(String jobName) {
+        return checkpointRepository.findByJobNameOrderByRangeStart(MemberPartitionJobRunner.checkpointName(jobName));
+    }
+
+    private void insertMembers(int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{USERNAME_PREFIX + i, i % 60, now, now});
+        }
+        jdbcTemplate.batchUpdate("insert into member (tenant_id, username, age, created_date, last_modified_date, deleted)" +
+                " values ('default', ?, ?, ?, ?, false)", batch);
+    }
+}
@@ -0,0 +1,96 @@
+package study.datajpa.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 퍼지는 배치마다 트랜잭션을 커밋하므로 @Transactional 없음
+@SpringBootTest(properties = "datajpa.soft-delete.purge-batch-size=7")
+class MemberTombstonePurgerTest {
+
+    private static final String PREFIX = "tombstone";
+
+    @Autowired
+    MemberTombstonePurger purger;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // 커밋된 데이터라 직접 지움 (다른 테스트의 전체 건수에 영향 없도록)
+    @AfterEach
+    public void deleteInsertedRows() {
+        String like = PREFIX + "%";
+        jdbcTemplate.update("delete from member where username like ?", like);
+        jdbcTemplate.update("delete from team_summary where team_id in (select team_id from team where name like ?)", like);
+        jdbcTemplate.update("delete from team where name like ?", like);
+    }
+
+    @Test
+    public void softDeleteThenPurge() {
+        //given
+        Team team = teamRepository.save(Team.builder().name(PREFIX).build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(memberRepository.save(Member.builder().username(PREFIX + i).age(i).team(team).build()).getId());
+        }
+
+        //when: 엔티티 삭제 / 벌크 삭제 모두 soft delete
+        memberRepository.deleteById(ids.get(0));
+        memberRepository.bulkDeleteByIds(ids.subList(1, 15));
+
+        //then
+        assertThat(memberRepository.findById(ids.get(0))).isEmpty();
+        assertThat(memberRepository.findByUsername(PREFIX + 1)).isEmpty();
+        assertThat(countRows(ids, true)).isEqualTo(15);
+        assertThat(teamRepository.findById(team.getId()).orElseThrow().getMemberCount()).isEqualTo(5);
+        assertThat(teamRepository.findSummary(team.getId()).orElseThrow().getMemberCount()).isEqualTo(5);
+
+        //when: 방금 삭제한 행은 보존 기간(기본 30일) 안이라 남는다
+        purger.purge();
+
+        //then
+        assertThat(countRows(ids, true)).isEqualTo(15);
+
+        //when: 10건을 보존 기간 밖으로 돌려놓고, 배치 크기 7 -> 여러 배치로 나눠서 물리 삭제
+        jdbcTemplate.update("update member set deleted_at = ? where member_id between ? and ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(31)), ids.get(0), ids.get(9));
+        int purged = purger.purge();
+
+        //then: 보존 기간이 지난 행은 이 테스트가 돌려놓은 10건뿐이므로 정확히 그만큼만 삭제
+        assertThat(purged).isEqualTo(10);
+        assertThat(countRows(ids)).isEqualTo(10);
+        assertThat(countRows(ids, true)).isEqualTo(5);
+        assertThat(countRows(ids, false)).isEqualTo(5);
+    }
+
+    private long countRows(List<Long> ids) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from member where member_id between ? and ?",
+                Long.class, ids.get(0), ids.get(ids.size() - 1));
+        return count == null ? 0 : count;
+    }
+
+    private long countRows(List<Long> ids, boolean deleted) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from member where deleted = ? and member_id between ? and ?",
+                Long.class, deleted, ids.get(0), ids.get(ids.size() - 1));
+        return count == null ? 0 : count;
+    }
+}
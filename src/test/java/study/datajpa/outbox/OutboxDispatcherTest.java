@@ -0,0 +1,168 @@
+package study.datajpa.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 디스패처는 커밋된 이벤트만 읽으므로 @Transactional 없음. 백그라운드 전송은 끄고 직접 호출
+@SpringBootTest(properties = {
+        "datajpa.outbox.dispatch-enabled=false",
+        "datajpa.outbox.sink=memory",
+        "datajpa.outbox.batch-size=100",
+        "datajpa.outbox.max-batches-per-run=5"
+})
+class OutboxDispatcherTest {
+
+    // 이 테스트가 만드는 회원 / 팀 이름의 접두사 (정리할 때 사용)
+    private static final String PREFIX = "outbox";
+
+    @Autowired
+    OutboxDispatcher dispatcher;
+
+    @Autowired
+    InMemoryOutboxSink sink;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void drain() {
+        // 다른 테스트가 남긴 이벤트 비우기
+        int sent;
+        do {
+            sent = dispatcher.dispatch();
+        } while (sent > 0);
+        sink.clear();
+    }
+
+    // 커밋된 데이터라 직접 지움 (다른 테스트의 전체 건수에 영향 없도록). JDBC 삭제라 아웃박스 이벤트는 새로 생기지 않음
+    @AfterEach
+    public void deleteInsertedRows() {
+        String like = PREFIX + "%";
+        jdbcTemplate.update("delete from outbox_event where" +
+                " (aggregate_type = 'Member' and aggregate_id in (select member_id from member where username like ?))" +
+                " or (aggregate_type = 'Team' and aggregate_id in (select team_id from team where name like ?))", like, like);
+        jdbcTemplate.update("delete from member where username like ?", like);
+        jdbcTemplate.update("delete from team_summary where team_id in (select team_id from team where name like ?)", like);
+        jdbcTemplate.update("delete from team where name like ?", like);
+        sink.clear();
+    }
+
+    @Test
+    public void memberChangesAreDispatchedInOrder() {
+        //given
+        Team team = teamRepository.save(Team.builder().name(PREFIX + "Team").build());
+        Member member = memberRepository.save(Member.builder().username(PREFIX + "1").age(10).team(team).build());
+        transactionTemplate.executeWithoutResult(status ->
+                memberRepository.findById(member.getId()).orElseThrow().changeName(PREFIX + "2"));
+        memberRepository.deleteById(member.getId());
+
+        // 롤백된 변경은 이벤트도 남지 않음
+        transactionTemplate.executeWithoutResult(status -> {
+            memberRepository.save(Member.builder().username("rolledBack").age(1).build());
+            status.setRollbackOnly();
+        });
+
+        //when
+        dispatcher.dispatch();
+
+        //then
+        List<String> memberEvents = new ArrayList<>();
+        for (OutboxMessage message : sink.getMessages()) {
+            if (message.getAggregateType().equals("Member") && message.getAggregateId() == member.getId()) {
+                memberEvents.add(message.getEventType());
+            }
+        }
+        assertThat(memberEvents).containsExactly("CREATED", "UPDATED", "DELETED");
+        assertThat(sink.getMessages())
+                .anyMatch(m -> m.getAggregateType().equals("Team") && m.getAggregateId() == team.getId());
+        assertThat(sink.getMessages())
+                .noneMatch(m -> m.getPayload() != null && m.getPayload().contains("rolledBack"));
+        assertThat(sink.getMessages().get(0).getPayload()).hasSizeLessThan(100); // 작은 payload
+    }
+
+    @Test
+    public void dispatchIsBoundedPerRun() {
+        //given
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = teamRepository.save(Team.builder().name(PREFIX + "Bulk").build());
+            for (int i = 0; i < 1200; i++) {
+                memberRepository.save(Member.builder().username(PREFIX + "Bulk" + i).age(i % 50).team(team).build());
+            }
+        });
+
+        //when: batch-size 100 * max-batches-per-run 5
+        int first = dispatcher.dispatch();
+
+        //then
+        assertThat(first).isEqualTo(500);
+        assertThat(sink.getMessages()).hasSize(500);
+
+        int rest = 0;
+        int sent;
+        while ((sent = dispatcher.dispatch()) > 0) {
+            rest += sent;
+        }
+        assertThat(first + rest).isGreaterThanOrEqualTo(1201); // 회원 1200 + 팀 insert
+    }
+
+    @Test
+    public void skipsRowsLockedByAnotherNode() throws Exception {
+        //given: 다른 노드의 디스패처가 남은 이벤트를 모두 잡고 있는 상태
+        memberRepository.save(Member.builder().username(PREFIX + "Locked").age(10).build());
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService otherNode = Executors.newSingleThreadExecutor();
+        Future<?> holder = otherNode.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("select outbox_event_id from outbox_event for update");
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        try {
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            //when: 잠긴 행은 기다리지 않고 건너뜀
+            int sent = dispatcher.dispatch();
+
+            //then
+            assertThat(sent).isZero();
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            otherNode.shutdown();
+        }
+        assertThat(dispatcher.dispatch()).isPositive(); // 잠금이 풀리면 보냄
+    }
+}
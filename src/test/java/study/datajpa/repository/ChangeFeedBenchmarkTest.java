@@ -0,0 +1,173 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.support.TransactionClock;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 변경분 동기화: findChangedSince 키셋 피드 vs 전체 재추출(findAll) 비교
+ */
+@SpringBootTest
+@Transactional
+class ChangeFeedBenchmarkTest {
+
+    private static final int TOTAL = 20_000;
+    private static final int CHANGED = 200;
+    private static final int PAGE_SIZE = 30;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void feedVsFullExport() {
+        //given: 오래된 회원 TOTAL 건 + 최근 변경 CHANGED 건 (모두 같은 수정 시각 -> id 로 구분)
+        LocalDateTime changedAt = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        insertMembers(TOTAL - CHANGED, changedAt.minusDays(7));
+        insertMembers(CHANGED, changedAt);
+
+        //when
+        long start = System.nanoTime();
+        ChangeCursor cursor = new ChangeCursor(changedAt.minusSeconds(1), 0L);
+        Set<Long> changedIds = new HashSet<>();
+        int pages = 0;
+        ChangeFeed<Member> feed;
+        do {
+            // 커서는 토큰으로 주고받는다
+            feed = memberRepository.findChangedSince(ChangeCursor.parse(cursor.toToken()), PAGE_SIZE, changedAt.plusMinutes(1));
+            feed.getContent().forEach(m -> changedIds.add(m.getId()));
+            cursor = feed.getNext();
+            pages++;
+            em.clear();
+        } while (feed.isHasMore());
+        long feedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int exported = memberRepository.findAll().size();
+        long exportNanos = System.nanoTime() - start;
+        em.clear();
+
+        //then
+        System.out.println("findChangedSince " + changedIds.size() + " rows / " + pages + " pages: "
+                + feedNanos / 1_000_000 + "ms");
+        System.out.println("full re-export   " + exported + " rows: " + exportNanos / 1_000_000 + "ms");
+
+        assertThat(changedIds).hasSize(CHANGED); // 같은 수정 시각끼리도 빠지거나 중복되지 않음
+        assertThat(cursor.getLastModifiedDate()).isEqualTo(changedAt);
+        assertThat(exported).isGreaterThanOrEqualTo(TOTAL);
+    }
+
+    @Test
+    public void recentChangesWaitForCommitLag() {
+        //given
+        Member member = memberRepository.save(Member.builder().username("feedRecent").age(10).build());
+        em.flush();
+
+        //when: 기본 until = ChangeCursor.safeUntil() (현재 - commit-lag, 진행 중인 이 테스트 트랜잭션의 시작 중 이른 쪽)
+        ChangeCursor cursor = new ChangeCursor(member.getLastModifiedDate().minusSeconds(1), 0L);
+        ChangeFeed<Member> feed = memberRepository.findChangedSince(cursor, 10);
+
+        //then: 아직 늦게 커밋될 수 있는 구간이라 내주지 않고 커서도 그대로
+        assertThat(feed.getContent()).doesNotContain(member);
+        assertThat(feed.getNext()).isEqualTo(cursor);
+    }
+
+    @Test
+    public void longTransactionHoldsBackFeed() throws Exception {
+        //given: 커밋 지연(commit-lag)보다 오래 걸리는 다른 트랜잭션이 1분 전 시각을 읽은 채 진행 중
+        LocalDateTime started = LocalDateTime.now().minusMinutes(1);
+        CountDownLatch stamped = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        Future<?> transaction = writer.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TransactionClock.setClock(Clock.fixed(started.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+            try {
+                TransactionClock.now();
+            } finally {
+                TransactionClock.setClock(Clock.systemDefaultZone());
+            }
+            stamped.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        try {
+            assertThat(stamped.await(10, TimeUnit.SECONDS)).isTrue();
+
+            //then: 그 트랜잭션이 커밋할 행(수정 시각 = started)을 건너뛰지 않도록 피드가 started 전에서 멈춤
+            assertThat(ChangeCursor.safeUntil()).isBeforeOrEqualTo(started);
+        } finally {
+            release.countDown();
+            transaction.get(10, TimeUnit.SECONDS);
+            writer.shutdown();
+        }
+
+        //then: 끝나면 다시 현재 - commit-lag 근처까지
+        assertThat(ChangeCursor.safeUntil()).isAfter(started.plusSeconds(30));
+    }
+
+    @Test
+    public void bulkUpdateAppearsInFeed() {
+        //given: 일주일 전에 수정된 회원 (다른 데이터와 겹치지 않는 나이)
+        Timestamp old = Timestamp.valueOf(LocalDateTime.now().minusDays(7).truncatedTo(ChronoUnit.SECONDS));
+        jdbcTemplate.update("insert into member (tenant_id, username, age, created_date, last_modified_date, deleted)" +
+                " values ('default', 'feedBulk', 10000, ?, ?, false)", old, old);
+        Long id = jdbcTemplate.queryForObject("select max(member_id) from member where username = 'feedBulk'", Long.class);
+
+        //when: 벌크 UPDATE (감사 콜백 없음)
+        LocalDateTime now = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS);
+        memberRepository.bulkAgePlus(10000, now);
+        em.clear();
+
+        //then: 벌크로 바뀐 행도 수정 시각이 갱신되어 피드에 나타남
+        ChangeFeed<Member> feed = memberRepository.findChangedSince(new ChangeCursor(now.minusSeconds(1), 0L), 1000, now.plusMinutes(1));
+        assertThat(feed.getContent()).extracting(Member::getId).contains(id);
+        assertThat(feed.getContent()).allMatch(m -> m.getLastModifiedDate().equals(now));
+    }
+
+    private void insertMembers(int count, LocalDateTime modifiedAt) {
+        Timestamp timestamp = Timestamp.valueOf(modifiedAt);
+        List<Object[]> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{"feed" + i, i % 60, timestamp, timestamp});
+        }
+        jdbcTemplate.batchUpdate("insert into member (tenant_id, username, age, created_date, last_modified_date, deleted)" +
+                " values ('default', ?, ?, ?, ?, false)", batch);
+    }
+}
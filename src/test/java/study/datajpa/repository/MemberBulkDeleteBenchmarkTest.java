@@ -0,0 +1,92 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 팀 회원 전체 삭제: deleteAll(엔티티별 remove) vs bulkDeleteByTeam 처리량 비교
+ */
+@SpringBootTest
+@Transactional
+class MemberBulkDeleteBenchmarkTest {
+
+    private static final int COUNT = 2000;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void deleteTeamMembers() {
+        //given
+        Team teamA = createTeamWithMembers("bulkA");
+        Team teamB = createTeamWithMembers("bulkB");
+        em.flush();
+        em.clear();
+
+        //when
+        long start = System.nanoTime();
+        List<Member> teamAMembers = em.createQuery("select m from Member m where m.team.id = :teamId", Member.class)
+                .setParameter("teamId", teamA.getId())
+                .getResultList();
+        memberRepository.deleteAll(teamAMembers);
+        em.flush();
+        long perEntity = System.nanoTime() - start;
+        em.clear();
+
+        start = System.nanoTime();
+        int deleted = memberRepository.bulkDeleteByTeam(teamB.getId());
+        long bulk = System.nanoTime() - start;
+
+        //then
+        System.out.println("deleteAll         " + COUNT + " rows: " + perEntity / 1_000_000 + "ms ("
+                + Math.round(COUNT / (perEntity / 1_000_000_000.0)) + " rows/s)");
+        System.out.println("bulkDeleteByTeam  " + deleted + " rows: " + bulk / 1_000_000 + "ms ("
+                + Math.round(deleted / (bulk / 1_000_000_000.0)) + " rows/s)");
+
+        em.clear();
+        assertThat(deleted).isEqualTo(COUNT);
+        assertThat(em.find(Team.class, teamB.getId()).getMemberCount()).isEqualTo(0);
+        assertThat(em.createQuery("select count(m) from Member m where m.team.id = :teamId", Long.class)
+                .setParameter("teamId", teamB.getId())
+                .getSingleResult()).isEqualTo(0);
+    }
+
+    @Test
+    public void evictManagedMembers() {
+        //given
+        Team team = createTeamWithMembers("bulkEvict");
+        Member managed = em.createQuery("select m from Member m where m.username = 'bulkEvict0'", Member.class)
+                .getSingleResult();
+        team.getMembers().size();
+
+        //when
+        memberRepository.bulkDeleteByIds(List.of(managed.getId()));
+
+        //then
+        assertThat(em.contains(managed)).isFalse();
+        assertThat(team.getMembers()).doesNotContain(managed);
+        assertThat(team.getMemberCount()).isEqualTo(COUNT - 1);
+    }
+
+    private Team createTeamWithMembers(String name) {
+        Team team = Team.builder().name(name).build();
+        em.persist(team);
+        for (int i = 0; i < COUNT; i++) {
+            em.persist(Member.builder().username(name + i).age(i % 50).team(team).build());
+        }
+        return team;
+    }
+}
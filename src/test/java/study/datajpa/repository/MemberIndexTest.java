@@ -0,0 +1,145 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.support.TenantContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 자주 쓰는 Member 조회 조건이 인덱스를 타는지 H2 EXPLAIN 으로 확인.
+ * 리포지토리 메서드는 StatementInspector 로 하이버네이트가 실제로 만든 SQL 을 잡아서 EXPLAIN 한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "study.datajpa.repository.MemberIndexTest$SqlCapture")
+@Transactional
+class MemberIndexTest {
+
+    private static final String TABLE_SCAN = "MEMBER.tableScan";
+
+    // "컬럼 연산자 ?" 의 컬럼 이름, 또는 그냥 ?
+    private static final Pattern PARAMETER = Pattern.compile("(?:(\\w+)\\s*(?:=|<>|>=|<=|>|<)\\s*)?\\?");
+    private static final Map<String, Object> BIND_VALUES = Map.of(
+            "tenant_id", TenantContext.DEFAULT,
+            "username", "member1",
+            "age", 10);
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void findByUsername() {
+        //given: 하이버네이트가 실제로 만든 SQL (테넌트 / soft delete 조건 포함)
+        SqlCapture.SELECTS.clear();
+        memberRepository.findByUsername("member1");
+
+        //when
+        String plan = explainCaptured("username");
+
+        //then
+        assertThat(plan).containsIgnoringCase("idx_member_username_team");
+    }
+
+    @Test
+    public void findByUsernameAndAgeGreaterThan() {
+        String plan = explain("select * from member m where m.tenant_id = 'default' and m.username = 'member1' and m.age > 10 and m.deleted = false");
+
+        assertThat(plan).doesNotContainIgnoringCase(TABLE_SCAN);
+    }
+
+    @Test
+    public void findByAgeOrderByUsername() {
+        //given
+        SqlCapture.SELECTS.clear();
+        memberRepository.findByAge(10, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username")));
+
+        //when: count 쿼리가 아닌 내용 조회
+        String plan = explainCaptured("order by");
+
+        //then
+        assertThat(plan).containsIgnoringCase("idx_member_age_username");
+    }
+
+    @Test
+    public void joinTeam() {
+        String plan = explain("select m.member_id, m.username from member m join team t on m.team_id = t.team_id where t.team_id = 1");
+
+        assertThat(plan).doesNotContainIgnoringCase(TABLE_SCAN);
+    }
+
+    @Test
+    public void projectionByUsernameIsCovered() {
+        String plan = explain("select m.member_id, m.username, m.team_id from member m where m.tenant_id = 'default' and m.username = 'member1' and m.deleted = false");
+
+        assertThat(plan).containsIgnoringCase("idx_member_username_team");
+    }
+
+    @Test
+    public void changeFeedKeyset() {
+        String plan = explain("select * from member m where m.tenant_id = 'default' and m.last_modified_date >= timestamp '2024-01-01 00:00:00'" +
+                " and m.last_modified_date < timestamp '2024-01-02 00:00:00'" +
+                " and (m.last_modified_date > timestamp '2024-01-01 00:00:00' or m.member_id > 10)" +
+                " order by m.last_modified_date, m.member_id fetch first 100 rows only");
+
+        assertThat(plan).containsIgnoringCase("idx_member_modified");
+    }
+
+    // 캡처한 SELECT 중 marker 를 포함한 첫 문장을 EXPLAIN. ? 는 앞 컬럼 이름으로 값을 고르고 그 외(offset / fetch)는 숫자
+    private String explainCaptured(String marker) {
+        String sql = SqlCapture.SELECTS.stream()
+                .filter(select -> select.toLowerCase().contains(marker))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(marker + " 를 포함한 SELECT 가 없습니다: " + SqlCapture.SELECTS));
+        System.out.println("generated = " + sql);
+
+        List<Object> args = new ArrayList<>();
+        Matcher matcher = PARAMETER.matcher(sql);
+        while (matcher.find()) {
+            String column = matcher.group(1) == null ? "" : matcher.group(1).toLowerCase();
+            args.add(BIND_VALUES.getOrDefault(column, 3));
+        }
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, args.toArray());
+        System.out.println("plan = " + plan);
+        return plan;
+    }
+
+    private String explain(String sql) {
+        String plan = String.valueOf(em.createNativeQuery("explain " + sql).getSingleResult());
+        System.out.println("plan = " + plan);
+        return plan;
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> SELECTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                SELECTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package study.datajpa.repository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -232,6 +233,31 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue();
     }
 
+    @Test
+    public void pagingTwoPhase() throws Exception {
+        //given
+        Team team = Team.builder().name("teamA").build();
+        teamRepository.save(team);
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(Member.builder().username("twoPhase" + i).age(77).team(team).build());
+        }
+        em.flush();
+        em.clear();
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        //when
+        Page<Member> page = memberRepository.findPageWithTeamByAge(77, pageRequest);
+
+        //then
+        List<Member> content = page.getContent();
+        assertThat(content).extracting(Member::getUsername)
+                .containsExactly("twoPhase5", "twoPhase4", "twoPhase3");
+        assertThat(Hibernate.isInitialized(content.get(0).getTeam())).isTrue();
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
     @Test
     public void bulkUpdate() {
         //given
@@ -0,0 +1,103 @@
+package study.datajpa.repository;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 큰 회원 페이지 응답 크기 / 직렬화 시간: Page&lt;MemberDto&gt; JSON vs 스트리밍 JSON vs 스트리밍 CBOR
+ */
+@SpringBootTest
+@Transactional
+class MemberStreamFormatBenchmarkTest {
+
+    private static final int COUNT = 2000;
+    private static final int ROUNDS = 20;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberStreamRepository memberStreamRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    public void payloadSizeAndCpu() throws Exception {
+        //given
+        Team team = Team.builder().name("formatTeam").build();
+        em.persist(team);
+        for (int i = 0; i < COUNT; i++) {
+            em.persist(Member.builder().username("format" + i).age(i % 60).team(team).build());
+        }
+        em.flush();
+        em.clear();
+        PageRequest pageable = PageRequest.of(0, COUNT, Sort.by(Sort.Direction.DESC, "id"));
+
+        //when
+        byte[] dto = null;
+        long dtoNanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            dto = objectMapper.writeValueAsBytes(memberRepository.findAll(pageable).map(MemberDto::new));
+            dtoNanos += System.nanoTime() - start;
+            em.clear();
+        }
+        byte[] json = null;
+        byte[] cbor = null;
+        long jsonNanos = 0;
+        long cborNanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            json = write(objectMapper.getFactory(), pageable);
+            jsonNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            cbor = write(new CBORFactory(), pageable);
+            cborNanos += System.nanoTime() - start;
+        }
+
+        //then
+        print("Page<MemberDto> json", dto.length, dtoNanos);
+        print("stream json", json.length, jsonNanos);
+        print("stream cbor", cbor.length, cborNanos);
+
+        JsonNode fromJson = objectMapper.readTree(json);
+        JsonNode fromCbor = new CBORMapper().readTree(cbor);
+        assertThat(fromCbor.get("content")).isEqualTo(fromJson.get("content"));
+        assertThat(fromCbor.get("content")).hasSize(COUNT);
+        assertThat(fromCbor.get("totalElements")).isEqualTo(fromJson.get("totalElements"));
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    private byte[] write(JsonFactory factory, PageRequest pageable) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        memberStreamRepository.writePage(pageable, factory, out);
+        return out.toByteArray();
+    }
+
+    private static void print(String name, int bytes, long nanos) {
+        System.out.printf("%-22s %8d bytes, %6.2fms/page%n", name, bytes, nanos / 1_000_000.0 / ROUNDS);
+    }
+}
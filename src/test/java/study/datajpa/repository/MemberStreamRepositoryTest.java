@@ -0,0 +1,74 @@
+package study.datajpa.repository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberStreamRepositoryTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberStreamRepository memberStreamRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    public void writePage() throws Exception {
+        //given
+        long before = em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+        Team team = Team.builder().name("teamA").build();
+        em.persist(team);
+        for (int i = 0; i < 5; i++) {
+            em.persist(Member.builder().username("stream" + i).age(10).team(team).build());
+        }
+        em.flush();
+
+        //when
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            memberStreamRepository.writePage(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "id")), generator);
+        }
+
+        //then
+        JsonNode page = objectMapper.readTree(writer.toString());
+        assertThat(page.get("content")).hasSize(3);
+        assertThat(page.get("content").get(0).get("username").asText()).isEqualTo("stream4");
+        assertThat(page.get("content").get(0).get("teamName").asText()).isEqualTo("teamA");
+        assertThat(page.get("totalElements").asLong()).isEqualTo(before + 5);
+        assertThat(page.get("number").asInt()).isEqualTo(0);
+        assertThat(page.get("first").asBoolean()).isTrue();
+    }
+
+    @Test
+    public void unsupportedSortWritesNothing() {
+        //when: 정렬 검증이 출력보다 먼저
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> memberStreamRepository.writePage(
+                PageRequest.of(0, 3, Sort.by("password")), objectMapper.getFactory(), out))
+                .isInstanceOf(UnsupportedSortException.class);
+
+        //then
+        assertThat(out.size()).isZero();
+    }
+}
@@ -0,0 +1,134 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberUpsertTest {
+
+    private static final int COUNT = 1000;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Test
+    public void upsertByUsername() {
+        //given
+        Team teamA = teamRepository.save(Team.builder().name("upsertA").build());
+        Team teamB = teamRepository.save(Team.builder().name("upsertB").build());
+        Member existing = memberRepository.save(Member.builder().username("upsert1").age(10).team(teamA).build());
+        memberRepository.save(Member.builder().username("upsert2").age(20).team(teamA).build());
+        em.flush();
+
+        //when
+        UpsertResult result = memberRepository.upsertByUsername(List.of(
+                new MemberUpsert("upsert1", 11, teamB.getId()), // 나이, 팀 변경
+                new MemberUpsert("upsert2", 20, teamA.getId()), // 변경 없음
+                new MemberUpsert("upsert3", 30, teamB.getId()),
+                new MemberUpsert("upsert4", 40, null)));
+
+        //then
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(em.contains(existing)).isFalse(); // 바뀐 회원은 영속성 컨텍스트에서 분리
+
+        em.clear();
+        Member updated = memberRepository.findByUsername("upsert1").get(0);
+        assertThat(updated.getAge()).isEqualTo(11);
+        assertThat(updated.getTeam().getId()).isEqualTo(teamB.getId());
+        assertThat(memberRepository.findByUsername("upsert4").get(0).getTeam()).isNull();
+        assertThat(teamRepository.findById(teamA.getId()).orElseThrow().getMemberCount()).isEqualTo(1);
+        assertThat(teamRepository.findById(teamB.getId()).orElseThrow().getMemberCount()).isEqualTo(2);
+        assertThat(teamRepository.findSummary(teamB.getId()).orElseThrow().getAgeSum()).isEqualTo(41);
+
+        // 같은 값으로 다시 upsert 하면 아무것도 바뀌지 않음
+        UpsertResult again = memberRepository.upsertByUsername(List.of(new MemberUpsert("upsert1", 11, teamB.getId())));
+        assertThat(again.getInserted()).isZero();
+        assertThat(again.getUpdated()).isZero();
+    }
+
+    @Test
+    public void upsertUpdatesOnlyOldestDuplicate() {
+        //given: username 은 유일하지 않음
+        Member oldest = memberRepository.save(Member.builder().username("upsertDup").age(10).build());
+        Member newer = memberRepository.save(Member.builder().username("upsertDup").age(10).build());
+        em.flush();
+
+        //when
+        UpsertResult result = memberRepository.upsertByUsername(List.of(new MemberUpsert("upsertDup", 11, null)));
+
+        //then
+        assertThat(result.getInserted()).isZero();
+        assertThat(result.getUpdated()).isEqualTo(1);
+        em.clear();
+        assertThat(memberRepository.findById(oldest.getId()).orElseThrow().getAge()).isEqualTo(11);
+        assertThat(memberRepository.findById(newer.getId()).orElseThrow().getAge()).isEqualTo(10);
+    }
+
+    @Test
+    public void upsertVsReadModifyWrite() {
+        //given: 절반은 이미 있는 회원
+        Team team = teamRepository.save(Team.builder().name("upsertBench").build());
+        for (int i = 0; i < COUNT / 2; i++) {
+            memberRepository.save(Member.builder().username("rmw" + i).age(1).team(team).build());
+            memberRepository.save(Member.builder().username("merge" + i).age(1).team(team).build());
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        long start = System.nanoTime();
+        for (int i = 0; i < COUNT; i++) {
+            List<Member> found = memberRepository.findByUsername("rmw" + i);
+            if (found.isEmpty()) {
+                memberRepository.save(Member.builder().username("rmw" + i).age(2).team(em.getReference(Team.class, team.getId())).build());
+            } else {
+                found.get(0).changeAge(2); // upsert 와 같은 변경 (나이 1 -> 2)
+            }
+        }
+        em.flush();
+        long readModifyWrite = System.nanoTime() - start;
+        em.clear();
+
+        List<MemberUpsert> rows = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            rows.add(new MemberUpsert("merge" + i, 2, team.getId()));
+        }
+        start = System.nanoTime();
+        UpsertResult result = memberRepository.upsertByUsername(rows);
+        long merge = System.nanoTime() - start;
+
+        //then
+        System.out.println("find + save/dirty check " + COUNT + " rows: " + readModifyWrite / 1_000_000 + "ms");
+        System.out.println("upsertByUsername        " + COUNT + " rows: " + merge / 1_000_000 + "ms " + result);
+        assertThat(result.getInserted()).isEqualTo(COUNT / 2);
+        assertThat(result.getUpdated()).isEqualTo(COUNT / 2);
+        // 두 방식 모두 같은 결과: COUNT 건 모두 나이 2
+        assertThat(countAge2("rmw%")).isEqualTo(COUNT);
+        assertThat(countAge2("merge%")).isEqualTo(COUNT);
+    }
+
+    private long countAge2(String usernamePattern) {
+        return em.createQuery("select count(m) from Member m where m.username like :pattern and m.age = 2", Long.class)
+                .setParameter("pattern", usernamePattern)
+                .getSingleResult();
+    }
+}
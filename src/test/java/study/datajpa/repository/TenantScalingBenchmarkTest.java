@@ -0,0 +1,122 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.support.TenantContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 테넌트 수가 늘어도 한 테넌트의 조회 시간은 그대로인지 (tenant_id 가 앞에 있는 인덱스).
+ * 모든 테넌트에 같은 username 을 넣어서 다른 테넌트 행이 섞이지 않는 것도 함께 확인.
+ */
+@SpringBootTest
+@Transactional
+class TenantScalingBenchmarkTest {
+
+    private static final int ROWS_PER_TENANT = 2_000;
+    private static final int[] TENANT_COUNTS = {1, 10, 50};
+    private static final int QUERIES = 300;
+    private static final int ROUNDS = 3;
+    // 50 테넌트일 때 평균 조회 시간이 1 테넌트일 때의 몇 배까지 허용하는지 (측정 잡음 포함)
+    private static final double MAX_SLOWDOWN = 3.0;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void latencyIsFlatAsTenantsGrow() {
+        int tenants = 0;
+        Integer defaultAge7 = null;
+        long[] baseline = null;
+        long[] largest = null;
+        for (int tenantCount : TENANT_COUNTS) {
+            //given: 기본 테넌트 + 다른 테넌트들 (테넌트마다 같은 username / age 분포)
+            for (; tenants < tenantCount; tenants++) {
+                insertMembers(tenants == 0 ? TenantContext.DEFAULT : "bench" + tenants);
+            }
+            em.clear();
+
+            //when: 테스트 트랜잭션의 세션은 기본 테넌트
+            measure(); // 워밍업
+            long[] nanos = best();
+            if (baseline == null) {
+                baseline = nanos;
+            }
+            largest = nanos;
+
+            //then
+            System.out.println("tenants=" + tenantCount + ", rows=" + tenantCount * ROWS_PER_TENANT
+                    + ", findByUsername avg=" + nanos[0] / QUERIES / 1_000 + "us"
+                    + ", findListByAge avg=" + nanos[1] / QUERIES / 1_000 + "us");
+            assertThat(memberRepository.findByUsername("tenantBench7")).hasSize(1);
+            // 다른 테넌트 행이 늘어도 기본 테넌트 결과는 그대로
+            int age7 = memberRepository.findListByAge(7).size();
+            if (defaultAge7 == null) {
+                defaultAge7 = age7;
+            }
+            assertThat(age7).isEqualTo(defaultAge7);
+        }
+
+        // 테넌트 1 -> 50 (행 50배) 에도 평균 조회 시간은 제한된 비율 안
+        assertThat((double) largest[0] / baseline[0]).isLessThanOrEqualTo(MAX_SLOWDOWN);
+        assertThat((double) largest[1] / baseline[1]).isLessThanOrEqualTo(MAX_SLOWDOWN);
+
+        String plan = String.valueOf(em.createNativeQuery("explain select * from member m" +
+                " where m.tenant_id = 'default' and m.age = 7 and m.deleted = false").getSingleResult());
+        assertThat(plan).containsIgnoringCase("idx_member_age_username");
+    }
+
+    // ROUNDS 번 측정해서 조회별 가장 짧은 합계
+    private long[] best() {
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE};
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] nanos = measure();
+            best[0] = Math.min(best[0], nanos[0]);
+            best[1] = Math.min(best[1], nanos[1]);
+        }
+        return best;
+    }
+
+    // [findByUsername 합계, findListByAge 합계]
+    private long[] measure() {
+        long[] nanos = new long[2];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            memberRepository.findByUsername("tenantBench" + (i * 7 % ROWS_PER_TENANT));
+            nanos[0] += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            memberRepository.findListByAge(i % 60);
+            nanos[1] += System.nanoTime() - start;
+            em.clear();
+        }
+        return nanos;
+    }
+
+    private void insertMembers(String tenantId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(ROWS_PER_TENANT);
+        for (int i = 0; i < ROWS_PER_TENANT; i++) {
+            batch.add(new Object[]{tenantId, "tenantBench" + i, i % 60, now, now});
+        }
+        jdbcTemplate.batchUpdate("insert into member (tenant_id, username, age, created_date, last_modified_date, deleted)" +
+                " values (?, ?, ?, ?, ?, false)", batch);
+    }
+}
@@ -0,0 +1,108 @@
+package study.datajpa.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberCardinality;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.MemberLoader.Strategy;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결과 건수 / 팀 fan-out 별로 세 전략을 모두 실행해서 시간을 출력하고,
+ * 자동 선택한 전략이 측정한 시간으로도 가장 빠른 전략에 가까운지 확인
+ */
+@SpringBootTest
+@Transactional
+class MemberLoaderBenchmarkTest {
+
+    private static final int SMALL_AGE = 901;     // 100명, 50팀
+    private static final int FAN_OUT_AGE = 902;   // 3000명, 10팀
+    private static final int SPREAD_AGE = 903;    // 3000명, 1500팀
+    private static final int ROUNDS = 3;
+    // 선택한 전략이 가장 빠른 전략의 TOLERANCE 배 + SLACK 이내 (짧은 측정의 잡음 허용)
+    private static final double TOLERANCE = 2.0;
+    private static final long SLACK_NANOS = 5_000_000L;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberLoader memberLoader;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void crossover() {
+        //given
+        seed(SMALL_AGE, 100, 50);
+        seed(FAN_OUT_AGE, 3000, 10);
+        seed(SPREAD_AGE, 3000, 1500);
+        em.flush();
+        em.clear();
+
+        //when: 전략마다 ROUNDS 번 실행해서 가장 빠른 시간
+        for (int age : new int[]{SMALL_AGE, FAN_OUT_AGE, SPREAD_AGE}) {
+            Map<Strategy, Long> best = new EnumMap<>(Strategy.class);
+            List<Long> expectedIds = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                for (Strategy strategy : Strategy.values()) {
+                    em.clear();
+                    long start = System.nanoTime();
+                    List<Member> members = memberLoader.load(age, strategy);
+                    members.forEach(member -> member.getTeam().getName());
+                    long elapsed = System.nanoTime() - start;
+                    best.merge(strategy, elapsed, Math::min);
+
+                    // 세 전략 모두 같은 회원을 같은 순서로
+                    List<Long> ids = members.stream().map(Member::getId).toList();
+                    if (expectedIds == null) {
+                        expectedIds = ids;
+                    }
+                    assertThat(ids).isEqualTo(expectedIds);
+                }
+            }
+
+            //then: 자동 선택한 전략이 측정상 가장 빠른 전략보다 크게 느리지 않음
+            MemberCardinality cardinality = memberRepository.estimateByAge(age);
+            Strategy chosen = MemberLoader.choose(cardinality.getMemberCount(), cardinality.getTeamCount());
+            long fastest = Collections.min(best.values());
+            best.forEach((strategy, nanos) -> System.out.println("age=" + age + " strategy=" + strategy
+                    + " rows=" + cardinality.getMemberCount() + " best=" + nanos / 1_000 + "us"
+                    + (strategy == chosen ? " (chosen)" : "")));
+            assertThat(best.get(chosen)).isLessThanOrEqualTo((long) (fastest * TOLERANCE) + SLACK_NANOS);
+        }
+
+        assertThat(MemberLoader.choose(100, 50)).isEqualTo(Strategy.JOIN_FETCH);
+        assertThat(MemberLoader.choose(3000, 10)).isEqualTo(Strategy.BATCH_FETCH);
+        assertThat(MemberLoader.choose(3000, 1500)).isEqualTo(Strategy.TWO_PHASE);
+
+        em.clear();
+        List<Member> members = memberLoader.findWithTeamByAge(SPREAD_AGE);
+        assertThat(members).hasSize(3000);
+        assertThat(members).isSortedAccordingTo((a, b) -> a.getId().compareTo(b.getId()));
+    }
+
+    private void seed(int age, int members, int teams) {
+        Team[] created = new Team[teams];
+        for (int i = 0; i < teams; i++) {
+            created[i] = Team.builder().name("loader" + age + "-" + i).build();
+            em.persist(created[i]);
+        }
+        for (int i = 0; i < members; i++) {
+            em.persist(Member.builder().username("loader" + age + "-" + i).age(age).team(created[i % teams]).build());
+        }
+    }
+}
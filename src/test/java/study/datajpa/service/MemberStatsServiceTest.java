@@ -0,0 +1,60 @@
+package study.datajpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.dto.MemberStatsDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 파티션 집계는 별도 커넥션에서 돌기 때문에 데이터를 커밋해야 보임 -> @Transactional 없음
+@SpringBootTest
+class MemberStatsServiceTest {
+
+    private static final String PREFIX = "stats";
+
+    @Autowired
+    MemberStatsService memberStatsService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // 커밋된 데이터라 직접 지움 (다른 테스트의 전체 건수에 영향 없도록)
+    @AfterEach
+    public void deleteInsertedRows() {
+        String like = PREFIX + "%";
+        jdbcTemplate.update("delete from member where username like ?", like);
+        jdbcTemplate.update("delete from team_summary where team_id in (select team_id from team where name like ?)", like);
+        jdbcTemplate.update("delete from team where name like ?", like);
+    }
+
+    @Test
+    public void stats() {
+        //given
+        Team team = teamRepository.save(Team.builder().name(PREFIX + "Team").build());
+        memberRepository.save(Member.builder().username(PREFIX + "1").age(11).team(team).build());
+        memberRepository.save(Member.builder().username(PREFIX + "2").age(12).team(team).build());
+        memberRepository.save(Member.builder().username(PREFIX + "3").age(25).team(team).build());
+
+        //when
+        MemberStatsDto stats = memberStatsService.refresh();
+
+        //then
+        assertThat(stats.getTotal()).isEqualTo(memberRepository.count());
+        assertThat(stats.getTeamCounts().get(team.getId())).isEqualTo(3L);
+        assertThat(stats.getAgeHistogram().get(10)).isGreaterThanOrEqualTo(2L);
+        assertThat(memberStatsService.getStats()).isSameAs(stats);
+    }
+}
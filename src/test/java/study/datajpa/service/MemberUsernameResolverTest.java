@@ -0,0 +1,103 @@
+package study.datajpa.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberUsernameResolverTest {
+
+    @Autowired
+    MemberUsernameResolver resolver;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void batch() {
+        //given
+        memberRepository.save(Member.builder().username("resolveA").age(10).build());
+        memberRepository.save(Member.builder().username("resolveB").age(20).build());
+        memberRepository.save(Member.builder().username("resolveDup").age(30).build());
+        memberRepository.save(Member.builder().username("resolveDup").age(40).build());
+
+        //when
+        MemberUsernameResolver.Batch batch = resolver.newBatch();
+        CompletableFuture<Optional<Member>> a = batch.load("resolveA");
+        CompletableFuture<Optional<Member>> sameA = batch.load("resolveA");
+        CompletableFuture<Optional<Member>> missing = batch.load("resolveMissing");
+        CompletableFuture<Optional<Member>> dup = batch.load("resolveDup");
+        batch.dispatch();
+
+        //then
+        assertThat(a).isSameAs(sameA);
+        assertThat(a.join().get().getAge()).isEqualTo(10);
+        assertThat(missing.join()).isEmpty();
+        assertThatThrownBy(dup::join).hasCauseInstanceOf(IncorrectResultSizeDataAccessException.class);
+    }
+
+    @Test
+    public void resolveAll() {
+        //given
+        memberRepository.save(Member.builder().username("resolveAll1").age(10).build());
+        memberRepository.save(Member.builder().username("resolveAll2").age(20).build());
+
+        //when
+        Map<String, Member> result = resolver.resolveAll(List.of("resolveAll1", "resolveAll2", "resolveAll3"));
+
+        //then
+        assertThat(result).containsOnlyKeys("resolveAll1", "resolveAll2");
+    }
+
+    @Test
+    public void joinDispatchesPendingLoads() {
+        //given
+        memberRepository.save(Member.builder().username("resolveJoinA").age(10).build());
+        memberRepository.save(Member.builder().username("resolveJoinB").age(20).build());
+
+        //when: dispatch 없이 join
+        MemberUsernameResolver.Batch batch = resolver.newBatch();
+        CompletableFuture<Optional<Member>> a = batch.load("resolveJoinA");
+        CompletableFuture<Optional<Member>> b = batch.load("resolveJoinB");
+        Optional<Member> joined = a.join();
+
+        //then: 모아둔 조회가 한 번에 실행되어 b 도 완료
+        assertThat(joined.get().getAge()).isEqualTo(10);
+        assertThat(b).isDone();
+        assertThat(b.join().get().getAge()).isEqualTo(20);
+    }
+
+    @Test
+    public void commitDispatchesPendingLoads() {
+        //given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        //when: join / dispatch 없이 트랜잭션 종료
+        CompletableFuture<Optional<Member>> future = transactionTemplate.execute(status ->
+                resolver.newBatch().load("resolveCommitMissing"));
+
+        //then
+        assertThat(future).isDone();
+        assertThat(future.getNow(null)).isEmpty();
+    }
+}
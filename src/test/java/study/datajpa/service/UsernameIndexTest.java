@@ -0,0 +1,43 @@
+package study.datajpa.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsernameIndexTest {
+
+    @Test
+    public void prefixMatches() {
+        //given
+        UsernameIndex index = new UsernameIndex();
+        index.load(List.of("kim.minjun", "lee.jiho", "kim.seoyeon", "kim.minjun", "park.haeun"));
+
+        //when
+        index.add("kim.dohyun");
+        index.remove("lee.jiho");
+
+        //then
+        assertThat(index.prefixMatches("kim", 10)).containsExactly("kim.dohyun", "kim.minjun", "kim.seoyeon");
+        assertThat(index.prefixMatches("kim", 2)).containsExactly("kim.dohyun", "kim.minjun");
+        assertThat(index.prefixMatches("lee", 10)).isEmpty();
+        assertThat(index.prefixMatches("kim", 0)).isEmpty();
+        assertThat(index.prefixMatches("kim", -1)).isEmpty();
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void removeOneOfDuplicates() {
+        //given
+        UsernameIndex index = new UsernameIndex();
+        index.load(List.of("member1", "member1"));
+
+        //when
+        index.remove("member1");
+
+        //then
+        assertThat(index.prefixMatches("member", 10)).containsExactly("member1");
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,106 @@
+package study.datajpa.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// 예산 1ms, 한 번 측정하면 바로 적용
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "datajpa.pageable-budget.default-budget=1ms",
+        "datajpa.pageable-budget.min-page-size=3",
+        "datajpa.pageable-budget.warmup-requests=1"
+})
+class AdaptivePageableTest {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    PageCostTracker tracker;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void clampToBudgetWithNextLink() {
+        //given: 행당 1ms -> 예산 1ms 면 1행이지만 최소 3행
+        tracker.record("MemberController.stream", 10_000_000L, 10);
+
+        //when
+        ResponseEntity<String> response = restTemplate.getForEntity("/members/stream?page=1&size=10", String.class);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(AdaptivePageableResolver.CLAMPED_HEADER)).isEqualTo("10");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LINK)).contains("offset=3", "size=3", "rel=\"next\"")
+                .doesNotContain("page=");
+        assertThat(response.getBody()).contains("\"size\":3");
+        assertThat(meterRegistry.get("pageable.clamped").tag("endpoint", "MemberController.stream").counter().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void clampedPageStartsAtRequestedOffset() {
+        //given: 행당 0.25ms -> 4행
+        tracker.record("MemberController.lists", 2_500_000L, 10);
+
+        //when: 두 번째 페이지(offset 10) 요청 -> offset 10 부터 4행 (최소 크기 3 아래로 줄지 않음)
+        ResponseEntity<String> response = restTemplate.getForEntity("/members/dto?page=2&size=10", String.class);
+
+        //then
+        assertThat(response.getHeaders().getFirst(AdaptivePageableResolver.CLAMPED_HEADER)).isEqualTo("10");
+        assertThat(response.getBody()).contains("\"size\":4", "\"offset\":10");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LINK)).contains("offset=14", "size=4")
+                .doesNotContain("page=");
+
+        //when: Link 를 따라가면 그 위치부터
+        ResponseEntity<String> next = restTemplate.getForEntity("/members/dto?offset=14&size=4", String.class);
+
+        //then
+        assertThat(next.getHeaders().getFirst(AdaptivePageableResolver.CLAMPED_HEADER)).isNull();
+        assertThat(next.getBody()).contains("\"size\":4", "\"offset\":14");
+    }
+
+    @Test
+    public void smallPagesAreNotClamped() {
+        tracker.record("budgetTest", 10_000_000L, 10);
+
+        assertThat(tracker.allowedSize("budgetTest", Duration.ofMillis(1), 2)).isEqualTo(2);
+        assertThat(tracker.allowedSize("budgetTest", Duration.ofMillis(5), 100)).isEqualTo(5);
+        assertThat(tracker.allowedSize("unknown", Duration.ofMillis(1), 100)).isEqualTo(100);
+    }
+
+    @Test
+    public void sizeRecoversWhenEndpointGetsFast() {
+        //given: 느린 구간. 고정 2ms + 행당 2ms, 여러 크기로 측정 -> 예산 20ms 면 (20 - 2) / 2 = 9행 정도
+        Duration budget = Duration.ofMillis(20);
+        for (int i = 0; i < 10; i++) {
+            for (int rows : new int[]{10, 40}) {
+                tracker.record("recoveryTest", 2_000_000L + rows * 2_000_000L, rows);
+            }
+        }
+        int clamped = tracker.allowedSize("recoveryTest", budget, 100);
+        assertThat(clamped).isBetween(8, 9);
+        assertThat(tracker.fixedNanos("recoveryTest")).isCloseTo(2_000_000, within(100_000.0));
+
+        //when: 빨라짐 (고정 2ms + 행당 0.1ms). 줄인 크기로만 요청이 들어옴
+        int size = clamped;
+        for (int i = 0; i < 30; i++) {
+            tracker.record("recoveryTest", 2_000_000L + size * 100_000L, size);
+            size = tracker.allowedSize("recoveryTest", budget, 100);
+        }
+
+        //then: 고정 비용이 행당 비용에 섞이지 않아서 요청 크기까지 다시 커진다
+        assertThat(size).isEqualTo(100);
+    }
+}
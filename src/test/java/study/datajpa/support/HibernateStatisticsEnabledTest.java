@@ -0,0 +1,69 @@
+package study.datajpa.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 통계 수집을 켠 컨텍스트에서만 /actuator/hibernate 가 등록된다
+@SpringBootTest(properties = HibernateStatisticsEndpoint.STATISTICS_PROPERTY + "=true")
+@Transactional
+class HibernateStatisticsEnabledTest {
+
+    @Autowired
+    HibernateStatisticsEndpoint endpoint;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void statisticsAndTopQueries() {
+        //given
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+        memberRepository.save(Member.builder().username("statsEndpoint1").age(10).build());
+        memberRepository.save(Member.builder().username("statsEndpoint2").age(20).build());
+        em.flush();
+        for (int i = 0; i < 3; i++) {
+            memberRepository.findUser("statsEndpoint1", 10);
+        }
+
+        //when
+        Map<String, Object> statistics = endpoint.statistics();
+
+        //then
+        assertThat(statistics.get("enabled")).isEqualTo(true);
+        Map<String, Object> session = (Map<String, Object>) statistics.get("session");
+        assertThat((Long) session.get("entityInserts")).isGreaterThanOrEqualTo(2);
+        assertThat((Long) session.get("flushes")).isGreaterThanOrEqualTo(1);
+        assertThat((Long) session.get("preparedStatements")).isGreaterThanOrEqualTo(5);
+
+        Map<String, Object> queries = (Map<String, Object>) statistics.get("queries");
+        assertThat((Long) queries.get("executions")).isGreaterThanOrEqualTo(3);
+        List<Map<String, Object>> top = (List<Map<String, Object>>) queries.get("top");
+        assertThat(top).anySatisfy(row -> {
+            assertThat((String) row.get("query")).contains("where m.username = :username and m.age = :age");
+            assertThat((Long) row.get("executions")).isEqualTo(3);
+            assertThat((Long) row.get("rows")).isEqualTo(3);
+        });
+        // 총 실행 시간이 큰 순서
+        assertThat(top).extracting(row -> (Long) row.get("totalTimeMs")).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class HibernateStatisticsEndpointTest {
+
+    @Autowired
+    ApplicationContext context;
+
+    @Test
+    public void disabledByDefault() {
+        // 기본 설정은 통계 수집 꺼짐 -> 조회 / 초기화 엔드포인트 모두 없음
+        assertThat(context.getEnvironment().getProperty(HibernateStatisticsEndpoint.STATISTICS_PROPERTY)).isEqualTo("false");
+        assertThat(context.getBeansOfType(HibernateStatisticsEndpoint.class)).isEmpty();
+        assertThat(context.getBeansOfType(HibernateStatisticsResetEndpoint.class)).isEmpty();
+    }
+}
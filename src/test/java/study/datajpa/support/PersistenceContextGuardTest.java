@@ -0,0 +1,62 @@
+package study.datajpa.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberJpaRepository;
+import study.datajpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "datajpa.persistence-context.max-managed-entities=10",
+        "datajpa.persistence-context.mode=flush-clear"})
+@Transactional
+class PersistenceContextGuardTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Test
+    public void flushAndClearSpringDataRepository() {
+        //given
+        long before = memberRepository.count();
+        long flushesBefore = SessionStatistics.flushCount();
+
+        //when
+        for (int i = 0; i < 25; i++) {
+            memberRepository.save(Member.builder().username("guard" + i).age(i).build());
+        }
+
+        //then
+        assertThat(managedEntities()).isLessThan(10);
+        assertThat(memberRepository.count()).isEqualTo(before + 25);
+        assertThat(SessionStatistics.flushCount()).isGreaterThan(flushesBefore);
+    }
+
+    @Test
+    public void flushAndClearJpaRepository() {
+        //when
+        for (int i = 0; i < 25; i++) {
+            memberJpaRepository.save(Member.builder().username("guardJpa" + i).age(i).build());
+        }
+
+        //then
+        assertThat(managedEntities()).isLessThan(10);
+    }
+
+    private int managedEntities() {
+        return em.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
@@ -0,0 +1,66 @@
+package study.datajpa.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 모든 SQL 을 느린 쿼리로 보고 전부 로그로 남기도록 설정
+@SpringBootTest(properties = {
+        "datajpa.slow-query.threshold=0ms",
+        "datajpa.slow-query.sample-rate=1"
+})
+@Transactional
+class SlowQueryListenerTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    HibernateStatisticsEndpoint hibernateStatisticsEndpoint;
+
+    @Test
+    public void slowQueryHasRepositoryMethod() {
+        //given
+        memberRepository.save(Member.builder().username("slow1").age(10).build());
+
+        //when
+        memberRepository.findByUsername("slow1");
+
+        //then
+        Counter counter = meterRegistry.find("jpa.slow.queries")
+                .tag("method", "MemberRepository.findByUsername")
+                .counter();
+        assertThat(counter).isNotNull();
+        assertThat(counter.count()).isGreaterThanOrEqualTo(1);
+        assertThat(RepositoryMethodContext.current()).isNull(); // 메서드가 끝나면 비워짐
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void hibernateStatistics() {
+        //given
+        hibernateStatisticsEndpoint.clear();
+        memberRepository.findByUsername("stats");
+
+        //when
+        Map<String, Object> statistics = hibernateStatisticsEndpoint.statistics();
+
+        //then
+        assertThat(statistics.get("enabled")).isEqualTo(true);
+        Map<String, Object> queries = (Map<String, Object>) statistics.get("queries");
+        assertThat((Long) queries.get("executions")).isGreaterThanOrEqualTo(1);
+        assertThat(queries.get("top").toString()).contains("Member");
+    }
+}
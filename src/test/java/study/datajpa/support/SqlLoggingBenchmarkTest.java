@@ -0,0 +1,81 @@
+package study.datajpa.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * org.hibernate.SQL debug 로그(문장마다 포맷 + 콘솔 출력) 비용 측정: 같은 조회를 debug / info 로 비교
+ */
+@SpringBootTest
+@Transactional
+class SqlLoggingBenchmarkTest {
+
+    private static final String SQL_LOGGER = "org.hibernate.SQL";
+    private static final int COUNT = 200;
+    private static final int ROUNDS = 5;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    LoggingSystem loggingSystem;
+
+    @AfterEach
+    public void restore() {
+        loggingSystem.setLogLevel(SQL_LOGGER, LogLevel.INFO); // application.yml 설정값
+    }
+
+    @Test
+    public void sqlDebugLoggingCost() {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            ids.add(memberRepository.save(Member.builder().username("logging" + i).age(i % 50).build()).getId());
+        }
+        em.flush();
+        em.clear();
+
+        //when: 워밍업 후 측정
+        run(ids, LogLevel.INFO);
+        long debug = 0;
+        long info = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            debug += run(ids, LogLevel.DEBUG);
+            info += run(ids, LogLevel.INFO);
+        }
+
+        //then
+        System.out.println("org.hibernate.SQL=debug " + COUNT * ROUNDS + " queries: " + debug / 1_000_000 + "ms");
+        System.out.println("org.hibernate.SQL=info  " + COUNT * ROUNDS + " queries: " + info / 1_000_000 + "ms");
+        System.out.printf("debug logging overhead: %.1f%%%n", (debug - info) * 100.0 / info);
+        assertThat(debug).isPositive();
+        assertThat(info).isPositive();
+    }
+
+    private long run(List<Long> ids, LogLevel level) {
+        loggingSystem.setLogLevel(SQL_LOGGER, level);
+        long start = System.nanoTime();
+        for (Long id : ids) {
+            memberRepository.findById(id);
+            em.clear();
+        }
+        return System.nanoTime() - start;
+    }
+}
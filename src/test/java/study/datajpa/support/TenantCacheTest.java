@@ -0,0 +1,69 @@
+package study.datajpa.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantCacheTest {
+
+    private final TenantCache<String> cache = new TenantCache<>(registry("t1", "t2", "t3"), 2);
+
+    @Test
+    public void unknownTenantIsNotCached() {
+        assertThatThrownBy(() -> cache.get("random", tenantId -> "value"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(cache.getIfPresent("random")).isNull();
+    }
+
+    @Test
+    public void loadsOnceAndEvictsLeastRecentlyUsed() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("t1", tenantId -> tenantId + loads.incrementAndGet());
+        cache.get("t1", tenantId -> tenantId + loads.incrementAndGet());
+        cache.get("t2", tenantId -> tenantId + loads.incrementAndGet());
+        cache.get("t1", tenantId -> tenantId + loads.incrementAndGet()); // t2 가 가장 오래 안 쓴 테넌트
+        cache.get("t3", tenantId -> tenantId + loads.incrementAndGet());
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(cache.getIfPresent("t1")).isEqualTo("t11");
+        assertThat(cache.getIfPresent("t2")).isNull();
+        assertThat(cache.getIfPresent("t3")).isEqualTo("t33");
+    }
+
+    @Test
+    public void reloadWhenStale() {
+        cache.get("t1", tenantId -> "old");
+
+        assertThat(cache.get("t1", value -> value.equals("old"), tenantId -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    public void changesDuringLoadAreReplayed() {
+        //given
+        TenantCache<List<String>> lists = new TenantCache<>(registry("t1"), 2);
+
+        //when 적재 도중(쿼리 결과를 다 읽기 전) 들어온 변경
+        List<String> loaded = lists.get("t1", tenantId -> {
+            lists.update(tenantId, list -> list.add("added"));
+            return new ArrayList<>(List.of("loaded"));
+        });
+        lists.update("t1", list -> list.add("after"));
+        lists.update("t2", list -> list.add("ignored")); // 적재 안 된 테넌트는 건너뜀
+
+        //then
+        assertThat(loaded).containsExactly("loaded", "added", "after");
+        assertThat(lists.getIfPresent("t2")).isNull();
+    }
+
+    private static TenantRegistry registry(String... tenants) {
+        TenantProperties properties = new TenantProperties();
+        properties.setTenants(new LinkedHashSet<>(List.of(tenants)));
+        return new TenantRegistry(properties);
+    }
+}
@@ -0,0 +1,47 @@
+package study.datajpa.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 운영 설정처럼 기본 테넌트 없이 (헤더 필수)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "datajpa.tenancy.default-tenant=")
+class TenantFilterTest {
+
+    private static final String URI = "/members/autocomplete?prefix=a";
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    public void knownTenant() {
+        assertThat(get("tenantA")).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void unknownTenantIsRejected() {
+        assertThat(get("someoneElse")).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    public void missingHeaderIsRejected() {
+        assertThat(get(null)).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private HttpStatusCode get(String tenantId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (tenantId != null) {
+            headers.set(TenantFilter.HEADER, tenantId);
+        }
+        return restTemplate.exchange(URI, HttpMethod.GET, new HttpEntity<>(headers), String.class).getStatusCode();
+    }
+}
@@ -0,0 +1,76 @@
+package study.datajpa.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.service.MemberStatsService;
+import study.datajpa.service.UsernameAutocompleteService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 세션의 테넌트는 트랜잭션 시작 시 정해지므로 테넌트마다 리포지토리 호출(트랜잭션)을 따로 함 -> @Transactional 없음
+@SpringBootTest
+class TenantIsolationTest {
+
+    // 테스트 설정(config/application.yml)에 등록된 테넌트
+    private static final String TENANT_A = "tenantA";
+    private static final String TENANT_B = "tenantB";
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    MemberStatsService memberStatsService;
+
+    @Autowired
+    UsernameAutocompleteService usernameAutocompleteService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // 커밋된 데이터라 직접 지움 (다시 실행해도 테넌트별 건수가 맞도록). JDBC 는 테넌트 조건이 붙지 않음
+    @AfterEach
+    public void deleteTenantRows() {
+        for (String table : new String[]{"outbox_event", "member", "team_summary", "team"}) {
+            jdbcTemplate.update("delete from " + table + " where tenant_id in (?, ?)", TENANT_A, TENANT_B);
+        }
+    }
+
+    @Test
+    public void tenantsDoNotSeeEachOther() {
+        //given: 두 테넌트에 같은 이름의 팀 / 회원
+        Team teamA = TenantContext.callAs(TENANT_A, () -> save("isolated", 10));
+        Team teamB = TenantContext.callAs(TENANT_B, () -> save("isolated", 20));
+
+        //when
+        Member memberA = TenantContext.callAs(TENANT_A, () -> memberRepository.findByUsername("isolated").get(0));
+
+        //then: 저장 시 테넌트가 채워지고, 조회에는 현재 테넌트 행만
+        assertThat(memberA.getTenantId()).isEqualTo(TENANT_A);
+        assertThat(memberA.getAge()).isEqualTo(10);
+        TenantContext.runAs(TENANT_A, () -> {
+            assertThat(memberRepository.count()).isEqualTo(1);
+            assertThat(teamRepository.findSummary(teamA.getId())).isPresent();
+            assertThat(teamRepository.findSummary(teamB.getId())).isEmpty();
+            assertThat(memberStatsService.refresh().getTotal()).isEqualTo(1);
+            assertThat(usernameAutocompleteService.suggest("isol", 10)).containsExactly("isolated");
+        });
+        TenantContext.runAs(TENANT_B, () -> assertThat(memberStatsService.getStats().getAgeCounts()).containsOnlyKeys(20));
+        assertThat(memberRepository.findByUsername("isolated")).isEmpty(); // 기본 테넌트
+    }
+
+    private Team save(String username, int age) {
+        Team team = teamRepository.save(Team.builder().name("tenantTeam").build());
+        memberRepository.save(Member.builder().username(username).age(age).team(team).build());
+        return team;
+    }
+}
@@ -0,0 +1,50 @@
+-- 테스트 전용 엔티티(DynamicWideRow, StaticWideRow) 테이블. fast 프로필(validate) 기동에서도 매핑이 맞도록
+create table dynamic_wide_row (
+    id bigint generated by default as identity,
+    c01 varchar(255),
+    c02 varchar(255),
+    c03 varchar(255),
+    c04 varchar(255),
+    c05 varchar(255),
+    c06 varchar(255),
+    c07 varchar(255),
+    c08 varchar(255),
+    c09 varchar(255),
+    c10 varchar(255),
+    c11 varchar(255),
+    c12 varchar(255),
+    c13 varchar(255),
+    c14 varchar(255),
+    c15 varchar(255),
+    c16 varchar(255),
+    c17 varchar(255),
+    c18 varchar(255),
+    c19 varchar(255),
+    c20 varchar(255),
+    primary key (id)
+);
+
+create table static_wide_row (
+    id bigint generated by default as identity,
+    c01 varchar(255),
+    c02 varchar(255),
+    c03 varchar(255),
+    c04 varchar(255),
+    c05 varchar(255),
+    c06 varchar(255),
+    c07 varchar(255),
+    c08 varchar(255),
+    c09 varchar(255),
+    c10 varchar(255),
+    c11 varchar(255),
+    c12 varchar(255),
+    c13 varchar(255),
+    c14 varchar(255),
+    c15 varchar(255),
+    c16 varchar(255),
+    c17 varchar(255),
+    c18 varchar(255),
+    c19 varchar(255),
+    c20 varchar(255),
+    primary key (id)
+);